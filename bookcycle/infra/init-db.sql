@@ -86,13 +86,32 @@ CREATE TABLE marketplace.photos (
     id UUID PRIMARY KEY,
     listing_id UUID NOT NULL REFERENCES marketplace.listings(id) ON DELETE CASCADE,
     url VARCHAR(500) NOT NULL,
-    is_thumbnail BOOLEAN NOT NULL
+    is_thumbnail BOOLEAN NOT NULL,
+    file_name VARCHAR(100)
+);
+
+-- Files in listing upload storage, named by content hash; see ListingImageStorageService.
+CREATE TABLE marketplace.uploaded_images (
+    file_name VARCHAR(100) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    uploaded_at TIMESTAMP NOT NULL
+);
+
+-- Perceptual (dHash) hashes of uploaded listing images; see PhotoHashService.
+CREATE TABLE marketplace.image_hashes (
+    file_name VARCHAR(100) PRIMARY KEY,
+    dhash BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
 );
 
 CREATE INDEX idx_listings_title ON marketplace.listings(title);
 CREATE INDEX idx_listings_author ON marketplace.listings(author);
 CREATE INDEX idx_listings_isbn ON marketplace.listings(item_isbn);
 CREATE INDEX idx_listings_location ON marketplace.listings(location_city, location_zip);
+CREATE INDEX idx_photos_listing ON marketplace.photos(listing_id);
+CREATE INDEX idx_photos_file_name ON marketplace.photos(file_name);
+CREATE INDEX idx_image_hashes_created ON marketplace.image_hashes(created_at);
+CREATE INDEX idx_uploaded_images_uploaded ON marketplace.uploaded_images(uploaded_at);
 
 GRANT USAGE ON SCHEMA marketplace TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA marketplace TO bookcycle;
@@ -136,18 +155,126 @@ CREATE TABLE communication.conversations (
     buyer_id UUID NOT NULL,
     seller_id UUID NOT NULL,
     created_at TIMESTAMP NOT NULL,
-    last_message_at TIMESTAMP
+    last_message_at TIMESTAMP,
+    last_message_preview VARCHAR(140),
+    last_message_sender_id UUID,
+    buyer_unread_count INTEGER NOT NULL DEFAULT 0,
+    seller_unread_count INTEGER NOT NULL DEFAULT 0,
+    buyer_last_read_message_id UUID,
+    buyer_last_read_at TIMESTAMP,
+    seller_last_read_message_id UUID,
+    seller_last_read_at TIMESTAMP,
+    archived_at TIMESTAMP
 );
 
+-- Partitioned by month; the primary key has to include the partition key.
 CREATE TABLE communication.messages (
-    id UUID PRIMARY KEY,
+    id UUID NOT NULL,
     conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
     sender_id UUID NOT NULL,
     content VARCHAR(2000) NOT NULL,
+    sent_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+CREATE TABLE communication.messages_default PARTITION OF communication.messages DEFAULT;
+
+-- Gzip-compressed history of inactive conversations (see MessageArchivalService), in chunks
+-- of consecutive messages. Chunks of one conversation never overlap, so a page decodes only
+-- the one or two chunks around its cursor.
+CREATE TABLE communication.message_archive_chunks (
+    id UUID PRIMARY KEY,
+    conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
+    message_count INTEGER NOT NULL,
+    first_sent_at TIMESTAMP NOT NULL,
+    last_sent_at TIMESTAMP NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Archived message ids with their sent_at, so a message id from a cursor or a report finds
+-- its chunk without decoding any payload.
+CREATE TABLE communication.archived_messages (
+    id UUID PRIMARY KEY,
+    conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
     sent_at TIMESTAMP NOT NULL
 );
 
-CREATE INDEX idx_messages_conversation ON communication.messages(conversation_id);
+-- Monthly range partitions of communication.messages, named messages_YYYY_MM.
+-- Rows that already landed in the default partition for that month are moved over.
+CREATE OR REPLACE FUNCTION communication.ensure_message_partition(month_start DATE)
+RETURNS TEXT LANGUAGE plpgsql AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    until_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'messages_' || to_char(date_trunc('month', month_start), 'YYYY_MM');
+BEGIN
+    IF to_regclass('communication.' || partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    CREATE TEMP TABLE IF NOT EXISTS pending_messages (LIKE communication.messages) ON COMMIT DROP;
+    WITH moved AS (
+        DELETE FROM communication.messages_default
+        WHERE sent_at >= from_date AND sent_at < until_date
+        RETURNING *
+    )
+    INSERT INTO pending_messages SELECT * FROM moved;
+
+    EXECUTE format(
+        'CREATE TABLE communication.%I PARTITION OF communication.messages FOR VALUES FROM (%L) TO (%L)',
+        partition_name, from_date, until_date);
+
+    INSERT INTO communication.messages SELECT * FROM pending_messages;
+    DELETE FROM pending_messages;
+    RETURN partition_name;
+END;
+$$;
+
+-- Drops monthly partitions that end on or before the cutoff and are empty (archived).
+CREATE OR REPLACE FUNCTION communication.drop_empty_message_partitions(cutoff DATE)
+RETURNS INTEGER LANGUAGE plpgsql AS $$
+DECLARE
+    part RECORD;
+    is_empty BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'communication.messages'::regclass
+          AND c.relname ~ '^messages_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF (to_date(substring(part.relname FROM 10), 'YYYY_MM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM communication.%I)', part.relname) INTO is_empty;
+            IF is_empty THEN
+                EXECUTE format('DROP TABLE communication.%I', part.relname);
+                dropped := dropped + 1;
+            END IF;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+SELECT communication.ensure_message_partition((date_trunc('month', now()) + make_interval(months => m))::date)
+FROM generate_series(0, 2) AS m;
+
+CREATE INDEX idx_messages_conversation_sent_at ON communication.messages(conversation_id, sent_at, id);
+CREATE INDEX idx_message_archive_chunks_first ON communication.message_archive_chunks(conversation_id, first_sent_at);
+CREATE INDEX idx_message_archive_chunks_last ON communication.message_archive_chunks(conversation_id, last_sent_at);
+CREATE UNIQUE INDEX uk_conversations_listing_buyer_seller ON communication.conversations(listing_id, buyer_id, seller_id);
+-- One per inbox branch, in inbox order; see ConversationRepository#findInbox.
+CREATE INDEX idx_conversations_buyer_inbox ON communication.conversations(buyer_id, last_message_at DESC, id DESC);
+CREATE INDEX idx_conversations_seller_inbox ON communication.conversations(seller_id, last_message_at DESC, id DESC);
+CREATE INDEX idx_conversations_last_message ON communication.conversations(last_message_at);
+
+-- Chat search: conversation_id in the same GIN index (btree_gin) limits lookups to the
+-- searching user's conversations.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX idx_messages_conversation_content_fts
+    ON communication.messages USING GIN (conversation_id, to_tsvector('simple', content));
 
 GRANT USAGE ON SCHEMA communication TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA communication TO bookcycle;
@@ -177,8 +304,81 @@ CREATE TABLE moderation.moderation_actions (
     created_at TIMESTAMP NOT NULL
 );
 
-CREATE INDEX idx_reports_status ON moderation.reports(status);
+-- Report queue: every filter combination leads with an equality column and ends on
+-- created_at, which is also the default sort key.
+CREATE INDEX idx_reports_status_created ON moderation.reports(status, created_at DESC, id DESC);
+CREATE INDEX idx_reports_target_type_status_created ON moderation.reports(target_type, status, created_at DESC);
+CREATE INDEX idx_reports_reason_status_created ON moderation.reports(reason, status, created_at DESC);
+CREATE INDEX idx_reports_created ON moderation.reports(created_at DESC, id DESC);
+-- Resolution times of recently closed reports (moderation SLA refresh).
+CREATE INDEX idx_reports_closed_updated ON moderation.reports(updated_at) WHERE status <> 'OPEN';
+
+-- Action history per report and per moderator, and the audit export; keyset order (created_at, id).
+CREATE INDEX idx_moderation_actions_report_created ON moderation.moderation_actions(report_id, created_at DESC, id DESC);
+CREATE INDEX idx_moderation_actions_moderator_created ON moderation.moderation_actions(moderator_id, created_at DESC, id DESC);
+CREATE INDEX idx_moderation_actions_created ON moderation.moderation_actions(created_at, id);
+
+CREATE TABLE moderation.blocked_terms (
+    id UUID PRIMARY KEY,
+    term VARCHAR(200) NOT NULL UNIQUE,
+    reason VARCHAR(30) NOT NULL,
+    created_by UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE moderation.report_targets (
+    id UUID PRIMARY KEY,
+    target_type VARCHAR(20) NOT NULL,
+    target_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    report_count INTEGER NOT NULL,
+    open_report_count INTEGER NOT NULL,
+    distinct_reporters INTEGER NOT NULL,
+    spam_count INTEGER NOT NULL,
+    inappropriate_count INTEGER NOT NULL,
+    fraud_count INTEGER NOT NULL,
+    priority DOUBLE PRECISION,
+    first_reported_at TIMESTAMP NOT NULL,
+    last_reported_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    claimed_by UUID,
+    claim_expires_at TIMESTAMP,
+    awaiting_since TIMESTAMP,
+    CONSTRAINT uk_report_targets_target UNIQUE (target_type, target_id)
+);
+
+-- Moderator queue order; see ReportPriority for the score.
+CREATE INDEX idx_report_targets_status_priority ON moderation.report_targets(status, priority DESC, id);
+-- A moderator's current claims.
+CREATE INDEX idx_report_targets_claimed_by ON moderation.report_targets(claimed_by) WHERE status = 'OPEN';
+-- Per-target report lists and the auto-hide window rebuild.
+CREATE INDEX idx_reports_target_reporter ON moderation.reports(target_type, target_id, reporter_id);
+-- One report per reporter and target; also serves reporter reputation lookups.
+CREATE UNIQUE INDEX uk_reports_reporter_target ON moderation.reports(reporter_id, target_type, target_id);
 
 GRANT USAGE ON SCHEMA moderation TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA moderation TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA moderation TO bookcycle;
+
+-- Notification schema
+CREATE SCHEMA IF NOT EXISTS notification;
+
+CREATE TABLE notification.outbox (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    subject_id UUID NOT NULL,
+    summary VARCHAR(300) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    claimed_by UUID,
+    claim_expires_at TIMESTAMP
+);
+
+-- Only pending rows are ever scanned by the dispatcher.
+CREATE INDEX idx_outbox_pending_user ON notification.outbox(user_id, created_at) WHERE status = 'PENDING';
+
+GRANT USAGE ON SCHEMA notification TO bookcycle;
+GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA notification TO bookcycle;
+GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA notification TO bookcycle;
@@ -81,10 +81,34 @@ CREATE TABLE IF NOT EXISTS marketplace.photos (
     is_thumbnail BOOLEAN NOT NULL
 );
 
+ALTER TABLE marketplace.photos ADD COLUMN IF NOT EXISTS file_name VARCHAR(100);
+
+-- Photos stored before file names were tracked; mirrors Photo.uploadedFileName.
+UPDATE marketplace.photos
+SET file_name = substring(url from '/api/v1/listings/uploads/([^/?]{1,100})(\?.*)?$')
+WHERE file_name IS NULL
+  AND url LIKE '%/api/v1/listings/uploads/%';
+
+CREATE TABLE IF NOT EXISTS marketplace.uploaded_images (
+    file_name VARCHAR(100) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    uploaded_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS marketplace.image_hashes (
+    file_name VARCHAR(100) PRIMARY KEY,
+    dhash BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
 CREATE INDEX IF NOT EXISTS idx_listings_title ON marketplace.listings(title);
 CREATE INDEX IF NOT EXISTS idx_listings_author ON marketplace.listings(author);
 CREATE INDEX IF NOT EXISTS idx_listings_isbn ON marketplace.listings(item_isbn);
 CREATE INDEX IF NOT EXISTS idx_listings_location ON marketplace.listings(location_city, location_zip);
+CREATE INDEX IF NOT EXISTS idx_photos_listing ON marketplace.photos(listing_id);
+CREATE INDEX IF NOT EXISTS idx_photos_file_name ON marketplace.photos(file_name);
+CREATE INDEX IF NOT EXISTS idx_image_hashes_created ON marketplace.image_hashes(created_at);
+CREATE INDEX IF NOT EXISTS idx_uploaded_images_uploaded ON marketplace.uploaded_images(uploaded_at);
 
 GRANT USAGE ON SCHEMA marketplace TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA marketplace TO bookcycle;
@@ -128,18 +152,199 @@ CREATE TABLE IF NOT EXISTS communication.conversations (
     buyer_id UUID NOT NULL,
     seller_id UUID NOT NULL,
     created_at TIMESTAMP NOT NULL,
-    last_message_at TIMESTAMP
+    last_message_at TIMESTAMP,
+    last_message_preview VARCHAR(140),
+    last_message_sender_id UUID,
+    buyer_unread_count INTEGER NOT NULL DEFAULT 0,
+    seller_unread_count INTEGER NOT NULL DEFAULT 0,
+    buyer_last_read_message_id UUID,
+    buyer_last_read_at TIMESTAMP,
+    seller_last_read_message_id UUID,
+    seller_last_read_at TIMESTAMP,
+    archived_at TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS communication.messages (
-    id UUID PRIMARY KEY,
+    id UUID NOT NULL,
     conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
     sender_id UUID NOT NULL,
     content VARCHAR(2000) NOT NULL,
+    sent_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS last_message_preview VARCHAR(140);
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS last_message_sender_id UUID;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS buyer_unread_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS seller_unread_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS buyer_last_read_message_id UUID;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS buyer_last_read_at TIMESTAMP;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS seller_last_read_message_id UUID;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS seller_last_read_at TIMESTAMP;
+ALTER TABLE communication.conversations ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP;
+
+-- Convert a plain messages table from older volumes into the monthly partitioned layout.
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'communication.messages'::regclass) = 'r' THEN
+        ALTER TABLE communication.messages RENAME TO messages_unpartitioned;
+        ALTER INDEX IF EXISTS communication.messages_pkey RENAME TO messages_unpartitioned_pkey;
+        DROP INDEX IF EXISTS communication.idx_messages_conversation;
+        DROP INDEX IF EXISTS communication.idx_messages_conversation_sent_at;
+        CREATE TABLE communication.messages (
+            id UUID NOT NULL,
+            conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
+            sender_id UUID NOT NULL,
+            content VARCHAR(2000) NOT NULL,
+            sent_at TIMESTAMP NOT NULL,
+            PRIMARY KEY (id, sent_at)
+        ) PARTITION BY RANGE (sent_at);
+    END IF;
+END;
+$$;
+
+CREATE TABLE IF NOT EXISTS communication.messages_default PARTITION OF communication.messages DEFAULT;
+
+-- Gzip-compressed history of inactive conversations (see MessageArchivalService), in chunks
+-- of consecutive messages. Chunks of one conversation never overlap, so a page decodes only
+-- the one or two chunks around its cursor.
+CREATE TABLE IF NOT EXISTS communication.message_archive_chunks (
+    id UUID PRIMARY KEY,
+    conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
+    message_count INTEGER NOT NULL,
+    first_sent_at TIMESTAMP NOT NULL,
+    last_sent_at TIMESTAMP NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Archived message ids with their sent_at, so a message id from a cursor or a report finds
+-- its chunk without decoding any payload.
+CREATE TABLE IF NOT EXISTS communication.archived_messages (
+    id UUID PRIMARY KEY,
+    conversation_id UUID NOT NULL REFERENCES communication.conversations(id) ON DELETE CASCADE,
     sent_at TIMESTAMP NOT NULL
 );
 
-CREATE INDEX IF NOT EXISTS idx_messages_conversation ON communication.messages(conversation_id);
+-- Monthly range partitions of communication.messages, named messages_YYYY_MM.
+-- Rows that already landed in the default partition for that month are moved over.
+CREATE OR REPLACE FUNCTION communication.ensure_message_partition(month_start DATE)
+RETURNS TEXT LANGUAGE plpgsql AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    until_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'messages_' || to_char(date_trunc('month', month_start), 'YYYY_MM');
+BEGIN
+    IF to_regclass('communication.' || partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    CREATE TEMP TABLE IF NOT EXISTS pending_messages (LIKE communication.messages) ON COMMIT DROP;
+    WITH moved AS (
+        DELETE FROM communication.messages_default
+        WHERE sent_at >= from_date AND sent_at < until_date
+        RETURNING *
+    )
+    INSERT INTO pending_messages SELECT * FROM moved;
+
+    EXECUTE format(
+        'CREATE TABLE communication.%I PARTITION OF communication.messages FOR VALUES FROM (%L) TO (%L)',
+        partition_name, from_date, until_date);
+
+    INSERT INTO communication.messages SELECT * FROM pending_messages;
+    DELETE FROM pending_messages;
+    RETURN partition_name;
+END;
+$$;
+
+-- Drops monthly partitions that end on or before the cutoff and are empty (archived).
+CREATE OR REPLACE FUNCTION communication.drop_empty_message_partitions(cutoff DATE)
+RETURNS INTEGER LANGUAGE plpgsql AS $$
+DECLARE
+    part RECORD;
+    is_empty BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'communication.messages'::regclass
+          AND c.relname ~ '^messages_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF (to_date(substring(part.relname FROM 10), 'YYYY_MM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM communication.%I)', part.relname) INTO is_empty;
+            IF is_empty THEN
+                EXECUTE format('DROP TABLE communication.%I', part.relname);
+                dropped := dropped + 1;
+            END IF;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+-- Partitions for every month that holds messages, then copy the old rows over.
+DO $$
+BEGIN
+    IF to_regclass('communication.messages_unpartitioned') IS NOT NULL THEN
+        PERFORM communication.ensure_message_partition(month_start::date)
+        FROM (
+            SELECT DISTINCT date_trunc('month', sent_at) AS month_start
+            FROM communication.messages_unpartitioned
+        ) months;
+        INSERT INTO communication.messages (id, conversation_id, sender_id, content, sent_at)
+        SELECT id, conversation_id, sender_id, content, sent_at FROM communication.messages_unpartitioned;
+        DROP TABLE communication.messages_unpartitioned;
+    END IF;
+END;
+$$;
+
+SELECT communication.ensure_message_partition((date_trunc('month', now()) + make_interval(months => m))::date)
+FROM generate_series(0, 2) AS m;
+
+-- Superseded by the (conversation_id, sent_at, id) keyset index.
+DROP INDEX IF EXISTS communication.idx_messages_conversation;
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_sent_at ON communication.messages(conversation_id, sent_at, id);
+CREATE INDEX IF NOT EXISTS idx_message_archive_chunks_first ON communication.message_archive_chunks(conversation_id, first_sent_at);
+CREATE INDEX IF NOT EXISTS idx_message_archive_chunks_last ON communication.message_archive_chunks(conversation_id, last_sent_at);
+
+-- Merge duplicate conversations (same listing, buyer and seller) into the oldest one
+-- before the unique index is created.
+WITH ranked AS (
+    SELECT id, first_value(id) OVER (
+        PARTITION BY listing_id, buyer_id, seller_id ORDER BY created_at, id
+    ) AS keeper_id
+    FROM communication.conversations
+)
+UPDATE communication.messages m
+SET conversation_id = ranked.keeper_id
+FROM ranked
+WHERE m.conversation_id = ranked.id AND ranked.id <> ranked.keeper_id;
+
+WITH ranked AS (
+    SELECT id, first_value(id) OVER (
+        PARTITION BY listing_id, buyer_id, seller_id ORDER BY created_at, id
+    ) AS keeper_id
+    FROM communication.conversations
+)
+DELETE FROM communication.conversations c
+USING ranked
+WHERE c.id = ranked.id AND ranked.id <> ranked.keeper_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_conversations_listing_buyer_seller ON communication.conversations(listing_id, buyer_id, seller_id);
+-- One per inbox branch, in inbox order; see ConversationRepository#findInbox.
+CREATE INDEX IF NOT EXISTS idx_conversations_buyer_inbox ON communication.conversations(buyer_id, last_message_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_conversations_seller_inbox ON communication.conversations(seller_id, last_message_at DESC, id DESC);
+DROP INDEX IF EXISTS communication.idx_conversations_buyer_last_message;
+DROP INDEX IF EXISTS communication.idx_conversations_seller_last_message;
+CREATE INDEX IF NOT EXISTS idx_conversations_last_message ON communication.conversations(last_message_at);
+
+-- Chat search: conversation_id in the same GIN index (btree_gin) limits lookups to the
+-- searching user's conversations.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_content_fts
+    ON communication.messages USING GIN (conversation_id, to_tsvector('simple', content));
 
 GRANT USAGE ON SCHEMA communication TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA communication TO bookcycle;
@@ -169,8 +374,184 @@ CREATE TABLE IF NOT EXISTS moderation.moderation_actions (
     created_at TIMESTAMP NOT NULL
 );
 
-CREATE INDEX IF NOT EXISTS idx_reports_status ON moderation.reports(status);
+-- Report queue: every filter combination leads with an equality column and ends on
+-- created_at, which is also the default sort key.
+CREATE INDEX IF NOT EXISTS idx_reports_status_created ON moderation.reports(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_reports_target_type_status_created ON moderation.reports(target_type, status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_reports_reason_status_created ON moderation.reports(reason, status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_reports_created ON moderation.reports(created_at DESC, id DESC);
+-- Resolution times of recently closed reports (moderation SLA refresh).
+CREATE INDEX IF NOT EXISTS idx_reports_closed_updated ON moderation.reports(updated_at) WHERE status <> 'OPEN';
+-- Superseded by idx_reports_status_created.
+DROP INDEX IF EXISTS moderation.idx_reports_status;
+-- Action history per report and per moderator, and the audit export; keyset order (created_at, id).
+CREATE INDEX IF NOT EXISTS idx_moderation_actions_report_created ON moderation.moderation_actions(report_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_moderation_actions_moderator_created ON moderation.moderation_actions(moderator_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_moderation_actions_created ON moderation.moderation_actions(created_at, id);
+
+CREATE TABLE IF NOT EXISTS moderation.blocked_terms (
+    id UUID PRIMARY KEY,
+    term VARCHAR(200) NOT NULL UNIQUE,
+    reason VARCHAR(30) NOT NULL,
+    created_by UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS moderation.report_targets (
+    id UUID PRIMARY KEY,
+    target_type VARCHAR(20) NOT NULL,
+    target_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    report_count INTEGER NOT NULL,
+    open_report_count INTEGER NOT NULL,
+    distinct_reporters INTEGER NOT NULL,
+    spam_count INTEGER NOT NULL,
+    inappropriate_count INTEGER NOT NULL,
+    fraud_count INTEGER NOT NULL,
+    priority DOUBLE PRECISION,
+    first_reported_at TIMESTAMP NOT NULL,
+    last_reported_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_report_targets_target UNIQUE (target_type, target_id)
+);
+
+ALTER TABLE moderation.report_targets ADD COLUMN IF NOT EXISTS claimed_by UUID;
+ALTER TABLE moderation.report_targets ADD COLUMN IF NOT EXISTS claim_expires_at TIMESTAMP;
+ALTER TABLE moderation.report_targets ADD COLUMN IF NOT EXISTS awaiting_since TIMESTAMP;
+
+-- Moderator queue order; see ReportPriority for the score.
+CREATE INDEX IF NOT EXISTS idx_report_targets_status_priority ON moderation.report_targets(status, priority DESC, id);
+-- A moderator's current claims.
+CREATE INDEX IF NOT EXISTS idx_report_targets_claimed_by ON moderation.report_targets(claimed_by) WHERE status = 'OPEN';
+-- Per-target report lists and the auto-hide window rebuild.
+CREATE INDEX IF NOT EXISTS idx_reports_target_reporter ON moderation.reports(target_type, target_id, reporter_id);
+
+-- Aggregate reports filed before report_targets existed. Weights, epoch and half-life
+-- (48h = 172800s) mirror ReportPriority; reporter reputation is left neutral.
+INSERT INTO moderation.report_targets (
+    id, target_type, target_id, status, report_count, open_report_count, distinct_reporters,
+    spam_count, inappropriate_count, fraud_count, priority, first_reported_at, last_reported_at, updated_at
+)
+SELECT
+    gen_random_uuid(),
+    target_type,
+    target_id,
+    CASE
+        WHEN count(*) FILTER (WHERE status = 'OPEN') > 0 THEN 'OPEN'
+        WHEN bool_or(status = 'HIDDEN') THEN 'HIDDEN'
+        ELSE 'RESOLVED'
+    END,
+    count(*),
+    count(*) FILTER (WHERE status = 'OPEN'),
+    count(DISTINCT reporter_id),
+    count(*) FILTER (WHERE reason = 'SPAM'),
+    count(*) FILTER (WHERE reason = 'INAPPROPRIATE'),
+    count(*) FILTER (WHERE reason = 'FRAUD'),
+    log(2::numeric, sum(
+        CASE reason WHEN 'SPAM' THEN 1 WHEN 'INAPPROPRIATE' THEN 2 ELSE 3 END
+        * power(2::numeric, (extract(epoch FROM created_at - TIMESTAMP '2024-01-01 00:00:00') / 172800)::numeric)
+    ))::double precision,
+    min(created_at),
+    max(created_at),
+    now()
+FROM moderation.reports
+GROUP BY target_type, target_id
+ON CONFLICT (target_type, target_id) DO NOTHING;
+
+-- One report per reporter and target. Duplicates filed before the constraint are folded
+-- into the reporter's first report (an open one if there is one); their actions move along.
+WITH duplicate_reports AS (
+    SELECT id, keep_id
+    FROM (
+        SELECT
+            id,
+            first_value(id) OVER w AS keep_id,
+            row_number() OVER w AS position
+        FROM moderation.reports
+        WINDOW w AS (
+            PARTITION BY reporter_id, target_type, target_id
+            ORDER BY (status = 'OPEN') DESC, created_at, id
+        )
+    ) ranked
+    WHERE position > 1
+)
+UPDATE moderation.moderation_actions a
+SET report_id = d.keep_id
+FROM duplicate_reports d
+WHERE a.report_id = d.id;
+
+WITH duplicate_reports AS (
+    SELECT id, keep_id
+    FROM (
+        SELECT
+            id,
+            first_value(id) OVER w AS keep_id,
+            row_number() OVER w AS position
+        FROM moderation.reports
+        WINDOW w AS (
+            PARTITION BY reporter_id, target_type, target_id
+            ORDER BY (status = 'OPEN') DESC, created_at, id
+        )
+    ) ranked
+    WHERE position > 1
+)
+DELETE FROM moderation.reports r
+USING duplicate_reports d
+WHERE r.id = d.id;
+
+UPDATE moderation.report_targets t
+SET report_count = c.report_count,
+    open_report_count = c.open_report_count,
+    distinct_reporters = c.report_count,
+    spam_count = c.spam_count,
+    inappropriate_count = c.inappropriate_count,
+    fraud_count = c.fraud_count
+FROM (
+    SELECT
+        target_type,
+        target_id,
+        count(*) AS report_count,
+        count(*) FILTER (WHERE status = 'OPEN') AS open_report_count,
+        count(*) FILTER (WHERE reason = 'SPAM') AS spam_count,
+        count(*) FILTER (WHERE reason = 'INAPPROPRIATE') AS inappropriate_count,
+        count(*) FILTER (WHERE reason = 'FRAUD') AS fraud_count
+    FROM moderation.reports
+    GROUP BY target_type, target_id
+) c
+WHERE t.target_type = c.target_type
+  AND t.target_id = c.target_id
+  AND t.report_count <> c.report_count;
+
+-- Also serves reporter reputation lookups, which makes idx_reports_reporter redundant.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_reports_reporter_target ON moderation.reports(reporter_id, target_type, target_id);
+DROP INDEX IF EXISTS moderation.idx_reports_reporter;
 
 GRANT USAGE ON SCHEMA moderation TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA moderation TO bookcycle;
 GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA moderation TO bookcycle;
+
+-- Notification schema
+CREATE SCHEMA IF NOT EXISTS notification;
+
+CREATE TABLE IF NOT EXISTS notification.outbox (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    subject_id UUID NOT NULL,
+    summary VARCHAR(300) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    claimed_by UUID,
+    claim_expires_at TIMESTAMP
+);
+
+ALTER TABLE notification.outbox ADD COLUMN IF NOT EXISTS claimed_by UUID;
+ALTER TABLE notification.outbox ADD COLUMN IF NOT EXISTS claim_expires_at TIMESTAMP;
+
+-- Only pending rows are ever scanned by the dispatcher.
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_user ON notification.outbox(user_id, created_at) WHERE status = 'PENDING';
+
+GRANT USAGE ON SCHEMA notification TO bookcycle;
+GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA notification TO bookcycle;
+GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA notification TO bookcycle;
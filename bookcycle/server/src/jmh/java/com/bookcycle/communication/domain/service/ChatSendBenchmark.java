@@ -0,0 +1,110 @@
+package com.bookcycle.communication.domain.service;
+
+import com.bookcycle.BookcycleApplication;
+import com.bookcycle.communication.domain.model.Conversation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Send latency of {@link ChatService#sendMessage} for a conversation that already holds 10
+ * and 100k messages; both should cost the same. Runs on in-memory H2 in PostgreSQL mode by
+ * default. Pass {@code -Dspring.datasource.url=... -Dspring.jpa.hibernate.ddl-auto=validate}
+ * (plus username, password and driver) to measure against a database set up by init-db.sql.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatSendBenchmark {
+    private static final String H2_URL = "jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+        + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE SCHEMA IF NOT EXISTS identity\\;"
+        + "CREATE SCHEMA IF NOT EXISTS marketplace\\;CREATE SCHEMA IF NOT EXISTS trading\\;"
+        + "CREATE SCHEMA IF NOT EXISTS communication\\;CREATE SCHEMA IF NOT EXISTS moderation\\;"
+        + "CREATE SCHEMA IF NOT EXISTS notification";
+    private static final int SEED_BATCH = 5_000;
+
+    @Param({"10", "100000"})
+    private int existingMessages;
+
+    private ConfigurableApplicationContext context;
+    private ChatService chatService;
+    private Conversation conversation;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        defaultProperty("spring.datasource.url", H2_URL);
+        defaultProperty("spring.datasource.username", "sa");
+        defaultProperty("spring.datasource.password", "");
+        defaultProperty("spring.datasource.driver-class-name", "org.h2.Driver");
+        defaultProperty("spring.jpa.hibernate.ddl-auto", "create-drop");
+        defaultProperty("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        defaultProperty("app.keycloak.issuers", "http://localhost:8180/realms/bookcycle-mobile");
+        defaultProperty("server.port", "0");
+        defaultProperty("logging.level.root", "WARN");
+        defaultProperty("logging.level.com.bookcycle", "WARN");
+        defaultProperty("logging.level.org.hibernate.SQL", "WARN");
+        defaultProperty("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        defaultProperty("logging.level.org.springframework.security", "WARN");
+        context = SpringApplication.run(BookcycleApplication.class);
+        chatService = context.getBean(ChatService.class);
+        conversation = chatService.getOrCreateConversation(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        seed(context.getBean(JdbcTemplate.class), conversation, existingMessages);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object send() {
+        return chatService.sendMessage(conversation.getId(), conversation.getSellerId(), "benchmark " + sequence++);
+    }
+
+    // System properties outrank application.yml, and -D flags given to the fork still win.
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, Conversation conversation, int count) {
+        String sql = "insert into communication.messages (id, conversation_id, sender_id, content, sent_at) "
+            + "values (?, ?, ?, ?, ?)";
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {
+                UUID.randomUUID(), conversation.getId(), conversation.getBuyerId(), "seed " + i,
+                Timestamp.valueOf(base.plusSeconds(i))});
+            if (rows.size() == SEED_BATCH || i == count - 1) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookcycle.moderation.domain.service;
+
+import com.bookcycle.moderation.domain.model.BlockedTerm;
+import com.bookcycle.moderation.domain.model.ContentScanResult;
+import com.bookcycle.moderation.domain.model.ReportReason;
+import com.bookcycle.moderation.infrastructure.persistence.BlockedTermRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ContentScanner#scan} for a typical chat message, clean and flagged, against
+ * a small and a large blocklist. A clean message should scan in under a microsecond regardless
+ * of the blocklist size; flagged ones also pay for the regexes that confirm each finding. No
+ * database is involved: the blocklist is served by a stub repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentScannerBenchmark {
+    private static final String CLEAN = "Hi, is the book still available? I could pick it up on Friday "
+        + "afternoon near the station, around 4pm.";
+    private static final String FLAGGED = "Hi, is the book still available? Pay in advance via western union "
+        + "or text me at +43 660 1234567, see www.example.com";
+
+    @Param({"50", "5000"})
+    private int blockedTerms;
+
+    private ContentScanner scanner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<BlockedTerm> terms = new ArrayList<>(blockedTerms);
+        terms.add(BlockedTerm.create("western union", ReportReason.FRAUD, null));
+        for (int i = 1; i < blockedTerms; i++) {
+            terms.add(BlockedTerm.create("blocked phrase " + i, ReportReason.SPAM, null));
+        }
+        scanner = new ContentScanner(blocklist(terms), true);
+        scanner.reload();
+    }
+
+    @Benchmark
+    public ContentScanResult cleanMessage() {
+        return scanner.scan(CLEAN);
+    }
+
+    @Benchmark
+    public ContentScanResult flaggedMessage() {
+        return scanner.scan(FLAGGED);
+    }
+
+    private static BlockedTermRepository blocklist(List<BlockedTerm> terms) {
+        return (BlockedTermRepository) Proxy.newProxyInstance(
+            BlockedTermRepository.class.getClassLoader(),
+            new Class<?>[] {BlockedTermRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                    return terms;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
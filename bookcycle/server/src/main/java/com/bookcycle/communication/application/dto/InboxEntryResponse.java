@@ -0,0 +1,22 @@
+package com.bookcycle.communication.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class InboxEntryResponse {
+    private UUID conversationId;
+    private UUID listingId;
+    private UUID counterpartId;
+    private LocalDateTime lastMessageAt;
+    private String lastMessagePreview;
+    private UUID lastMessageSenderId;
+    private int unreadCount;
+    private UUID lastReadMessageId;
+    private LocalDateTime counterpartLastReadAt;
+    private boolean counterpartOnline;
+    private boolean counterpartTyping;
+}
@@ -0,0 +1,18 @@
+package com.bookcycle.communication.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MessageSearchHitResponse {
+    private UUID messageId;
+    private UUID conversationId;
+    private UUID listingId;
+    private UUID counterpartId;
+    private UUID senderId;
+    private LocalDateTime sentAt;
+    private String snippet;
+}
@@ -0,0 +1,16 @@
+package com.bookcycle.communication.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class ReadReceiptRequest {
+    @NotNull
+    private UUID userId;
+
+    /**
+     * Last message the user has seen; the latest message when omitted.
+     */
+    private UUID messageId;
+}
@@ -0,0 +1,15 @@
+package com.bookcycle.communication.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ReadReceiptResponse {
+    private UUID conversationId;
+    private UUID userId;
+    private UUID messageId;
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,8 @@
+package com.bookcycle.communication.application.dto;
+
+import lombok.Data;
+
+@Data
+public class TypingRequest {
+    private boolean typing;
+}
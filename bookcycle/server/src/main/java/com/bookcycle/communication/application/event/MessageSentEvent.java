@@ -0,0 +1,11 @@
+package com.bookcycle.communication.application.event;
+
+import com.bookcycle.communication.application.dto.MessageResponse;
+import java.util.UUID;
+
+/**
+ * Published inside the sendMessage transaction; listeners that push to clients
+ * should only react after commit.
+ */
+public record MessageSentEvent(UUID conversationId, MessageResponse message) {
+}
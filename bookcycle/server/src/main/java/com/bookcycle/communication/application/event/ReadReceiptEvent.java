@@ -0,0 +1,9 @@
+package com.bookcycle.communication.application.event;
+
+import com.bookcycle.communication.application.dto.ReadReceiptResponse;
+
+/**
+ * Published when a participant's read cursor moved forward.
+ */
+public record ReadReceiptEvent(ReadReceiptResponse receipt) {
+}
@@ -2,16 +2,35 @@ package com.bookcycle.communication.application.service;
 
 import com.bookcycle.communication.application.dto.ConversationResponse;
 import com.bookcycle.communication.application.dto.CreateConversationRequest;
+import com.bookcycle.communication.application.dto.InboxEntryResponse;
 import com.bookcycle.communication.application.dto.MessageResponse;
+import com.bookcycle.communication.application.dto.MessageSearchHitResponse;
+import com.bookcycle.communication.application.dto.ReadReceiptRequest;
+import com.bookcycle.communication.application.dto.ReadReceiptResponse;
 import com.bookcycle.communication.application.dto.SendMessageRequest;
+import com.bookcycle.communication.application.event.MessageSentEvent;
+import com.bookcycle.communication.application.event.ReadReceiptEvent;
 import com.bookcycle.communication.domain.model.Conversation;
 import com.bookcycle.communication.domain.model.Message;
+import com.bookcycle.communication.domain.model.MessageCursor;
+import com.bookcycle.communication.domain.model.MessageSearchHit;
+import com.bookcycle.communication.domain.model.ReadCursor;
 import com.bookcycle.communication.domain.service.ChatService;
+import com.bookcycle.communication.infrastructure.cache.RecentMessageCache;
+import com.bookcycle.communication.infrastructure.presence.PresenceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -19,6 +38,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChatApplicationService {
     private final ChatService chatService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecentMessageCache recentMessages;
+    private final PresenceService presenceService;
 
     @Transactional
     public ConversationResponse getOrCreateConversation(CreateConversationRequest request) {
@@ -33,14 +55,44 @@ public class ChatApplicationService {
     @Transactional
     public MessageResponse sendMessage(UUID conversationId, SendMessageRequest request) {
         Message message = chatService.sendMessage(conversationId, request.getSenderId(), request.getContent());
-        return toMessageResponse(message);
+        // Read under the send lock, before the UPDATE: the version a cached buffer must carry.
+        LocalDateTime previousLastMessageAt = message.getConversation().getLastMessageAt();
+        MessageResponse response = toMessageResponse(message);
+        eventPublisher.publishEvent(new MessageSentEvent(conversationId, response));
+        appendOnCommit(conversationId, previousLastMessageAt, response);
+        return response;
     }
 
-    @Transactional(readOnly = true)
-    public List<MessageResponse> getMessages(UUID conversationId) {
-        return chatService.getMessages(conversationId).stream()
-            .map(this::toMessageResponse)
-            .collect(Collectors.toList());
+    /**
+     * Not transactional on purpose: a read answered by the recent-message cache costs one
+     * primary-key lookup of last_message_at, which also tells whether another node has
+     * accepted a send since the cache was filled; misses fall through to the (transactional)
+     * ChatService.
+     */
+    public List<MessageResponse> getMessages(UUID conversationId, MessageCursor cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, ChatService.MAX_PAGE_SIZE));
+        if (cursor.direction() == MessageCursor.Direction.BEFORE || size > recentMessages.capacity()) {
+            return loadMessages(conversationId, cursor, size);
+        }
+        Optional<LocalDateTime> lastMessageAt = chatService.getLastMessageAt(conversationId);
+        if (lastMessageAt.isEmpty()) {
+            return loadMessages(conversationId, cursor, size);
+        }
+        Optional<List<MessageResponse>> cached = recentMessages.read(conversationId, lastMessageAt.get(), cursor, size);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (!recentMessages.isCurrent(conversationId, lastMessageAt.get())) {
+            recentMessages.install(
+                conversationId,
+                lastMessageAt.get(),
+                loadMessages(conversationId, MessageCursor.latest(), recentMessages.capacity()));
+            cached = recentMessages.read(conversationId, lastMessageAt.get(), cursor, size);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        return loadMessages(conversationId, cursor, size);
     }
 
     @Transactional(readOnly = true)
@@ -50,6 +102,79 @@ public class ChatApplicationService {
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public Page<InboxEntryResponse> getInbox(UUID userId, Pageable pageable) {
+        return chatService.getInbox(userId, pageable).map(conversation -> toInboxEntry(conversation, userId));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<MessageSearchHitResponse> searchMessages(UUID userId, String query, Pageable pageable) {
+        return chatService.searchMessages(userId, query, pageable).map(this::toSearchHitResponse);
+    }
+
+    @Transactional
+    public void markRead(UUID conversationId, ReadReceiptRequest request) {
+        chatService.markRead(conversationId, request.getUserId(), request.getMessageId())
+            .map(this::toReadReceiptResponse)
+            .ifPresent(receipt -> eventPublisher.publishEvent(new ReadReceiptEvent(receipt)));
+    }
+
+    private void appendOnCommit(UUID conversationId, LocalDateTime previousLastMessageAt, MessageResponse message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentMessages.append(conversationId, previousLastMessageAt, message);
+            }
+        });
+    }
+
+    private List<MessageResponse> loadMessages(UUID conversationId, MessageCursor cursor, int limit) {
+        return chatService.getMessages(conversationId, cursor, limit).stream()
+            .map(this::toMessageResponse)
+            .collect(Collectors.toList());
+    }
+
+    private InboxEntryResponse toInboxEntry(Conversation conversation, UUID userId) {
+        UUID counterpartId = conversation.counterpartOf(userId);
+        return InboxEntryResponse.builder()
+            .conversationId(conversation.getId())
+            .listingId(conversation.getListingId())
+            .counterpartId(counterpartId)
+            .lastMessageAt(conversation.getLastMessageAt())
+            .lastMessagePreview(conversation.getLastMessagePreview())
+            .lastMessageSenderId(conversation.getLastMessageSenderId())
+            .unreadCount(conversation.unreadCountFor(userId))
+            .lastReadMessageId(conversation.lastReadMessageIdFor(userId))
+            .counterpartLastReadAt(conversation.lastReadAtFor(counterpartId))
+            .counterpartOnline(presenceService.isOnline(counterpartId))
+            .counterpartTyping(presenceService.isTyping(conversation.getId(), counterpartId))
+            .build();
+    }
+
+    private MessageSearchHitResponse toSearchHitResponse(MessageSearchHit hit) {
+        return MessageSearchHitResponse.builder()
+            .messageId(hit.messageId())
+            .conversationId(hit.conversationId())
+            .listingId(hit.listingId())
+            .counterpartId(hit.counterpartId())
+            .senderId(hit.senderId())
+            .sentAt(hit.sentAt())
+            .snippet(hit.snippet())
+            .build();
+    }
+
+    private ReadReceiptResponse toReadReceiptResponse(ReadCursor cursor) {
+        return ReadReceiptResponse.builder()
+            .conversationId(cursor.conversationId())
+            .userId(cursor.userId())
+            .messageId(cursor.messageId())
+            .readAt(cursor.readAt())
+            .build();
+    }
+
     private ConversationResponse toConversationResponse(Conversation conversation) {
         return ConversationResponse.builder()
             .id(conversation.getId())
@@ -0,0 +1,41 @@
+package com.bookcycle.communication.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Locator of an archived message: its sent_at picks the {@link MessageArchiveChunk} that
+ * holds it. Written by MessageArchivalService only.
+ */
+@Entity
+@Table(schema = "communication", name = "archived_messages")
+public class ArchivedMessage {
+    @Id
+    private UUID id;
+
+    @Column(name = "conversation_id", nullable = false)
+    private UUID conversationId;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+
+    protected ArchivedMessage() {
+        // JPA
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getConversationId() {
+        return conversationId;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+}
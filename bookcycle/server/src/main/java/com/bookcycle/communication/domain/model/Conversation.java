@@ -1,22 +1,31 @@
 package com.bookcycle.communication.domain.model;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
+/**
+ * Messages are not mapped as a collection: the send path appends them with a single
+ * UPDATE of the denormalized last-message columns (see ConversationRepository#recordMessage).
+ */
 @Entity
-@Table(schema = "communication", name = "conversations")
+@Table(
+    schema = "communication",
+    name = "conversations",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_conversations_listing_buyer_seller",
+        columnNames = {"listing_id", "buyer_id", "seller_id"}
+    )
+)
 public class Conversation {
+    public static final int PREVIEW_LENGTH = 140;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -36,8 +45,34 @@ public class Conversation {
     @Column(name = "last_message_at")
     private LocalDateTime lastMessageAt;
 
-    @OneToMany(mappedBy = "conversation", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private List<Message> messages = new ArrayList<>();
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_sender_id")
+    private UUID lastMessageSenderId;
+
+    @Column(name = "buyer_unread_count", nullable = false)
+    private int buyerUnreadCount;
+
+    @Column(name = "seller_unread_count", nullable = false)
+    private int sellerUnreadCount;
+
+    // Read cursors: last message each participant has seen and its sent_at.
+    @Column(name = "buyer_last_read_message_id")
+    private UUID buyerLastReadMessageId;
+
+    @Column(name = "buyer_last_read_at")
+    private LocalDateTime buyerLastReadAt;
+
+    @Column(name = "seller_last_read_message_id")
+    private UUID sellerLastReadMessageId;
+
+    @Column(name = "seller_last_read_at")
+    private LocalDateTime sellerLastReadAt;
+
+    // Set when older messages were moved to communication.message_archives.
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
 
     protected Conversation() {
         // JPA
@@ -55,9 +90,37 @@ public class Conversation {
         return new Conversation(listingId, buyerId, sellerId);
     }
 
-    public void addMessage(Message message) {
-        messages.add(message);
-        lastMessageAt = message.getSentAt();
+    public boolean isParticipant(UUID userId) {
+        return buyerId.equals(userId) || sellerId.equals(userId);
+    }
+
+    public UUID counterpartOf(UUID userId) {
+        return buyerId.equals(userId) ? sellerId : buyerId;
+    }
+
+    public int unreadCountFor(UUID userId) {
+        if (buyerId.equals(userId)) {
+            return buyerUnreadCount;
+        }
+        if (sellerId.equals(userId)) {
+            return sellerUnreadCount;
+        }
+        return 0;
+    }
+
+    public UUID lastReadMessageIdFor(UUID userId) {
+        return buyerId.equals(userId) ? buyerLastReadMessageId : sellerLastReadMessageId;
+    }
+
+    public LocalDateTime lastReadAtFor(UUID userId) {
+        return buyerId.equals(userId) ? buyerLastReadAt : sellerLastReadAt;
+    }
+
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, PREVIEW_LENGTH - 1) + "\u2026";
     }
 
     public UUID getId() {
@@ -84,7 +147,15 @@ public class Conversation {
         return lastMessageAt;
     }
 
-    public List<Message> getMessages() {
-        return messages;
+    public String getLastMessagePreview() {
+        return lastMessagePreview;
+    }
+
+    public UUID getLastMessageSenderId() {
+        return lastMessageSenderId;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
     }
 }
@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
@@ -36,24 +37,44 @@ public class Message {
         // JPA
     }
 
-    private Message(Conversation conversation, UUID senderId, String content) {
+    private Message(Conversation conversation, UUID senderId, String content, LocalDateTime sentAt) {
         this.conversation = conversation;
         this.senderId = senderId;
         this.content = content;
-        this.sentAt = LocalDateTime.now();
+        // Database timestamps keep microseconds; truncating keeps cursors handed to clients exact.
+        this.sentAt = sentAt.truncatedTo(ChronoUnit.MICROS);
     }
 
-    public static Message create(Conversation conversation, UUID senderId, String content) {
+    /**
+     * @param sentAt taken while the conversation row is locked, see ChatService#sendMessage
+     */
+    public static Message create(Conversation conversation, UUID senderId, String content, LocalDateTime sentAt) {
         if (content == null || content.trim().isEmpty()) {
             throw new IllegalArgumentException("message content cannot be empty");
         }
-        return new Message(conversation, senderId, content.trim());
+        return new Message(conversation, senderId, content.trim(), sentAt);
+    }
+
+    /**
+     * Rebuilds a message read from the archive; it is detached and never persisted again.
+     */
+    public static Message restore(UUID id, UUID senderId, String content, LocalDateTime sentAt) {
+        Message message = new Message();
+        message.id = id;
+        message.senderId = senderId;
+        message.content = content;
+        message.sentAt = sentAt;
+        return message;
     }
 
     public UUID getId() {
         return id;
     }
 
+    public Conversation getConversation() {
+        return conversation;
+    }
+
     public UUID getSenderId() {
         return senderId;
     }
@@ -0,0 +1,86 @@
+package com.bookcycle.communication.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Compressed run of consecutive messages of an inactive conversation. Chunks of one
+ * conversation never overlap, and every archived message is older than every message still
+ * in communication.messages for the same conversation.
+ */
+@Entity
+@Table(schema = "communication", name = "message_archive_chunks")
+public class MessageArchiveChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "conversation_id", nullable = false)
+    private UUID conversationId;
+
+    @Column(name = "message_count", nullable = false)
+    private int messageCount;
+
+    @Column(name = "first_sent_at", nullable = false)
+    private LocalDateTime firstSentAt;
+
+    @Column(name = "last_sent_at", nullable = false)
+    private LocalDateTime lastSentAt;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "bytea")
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected MessageArchiveChunk() {
+        // JPA
+    }
+
+    public static MessageArchiveChunk create(
+            UUID conversationId, int messageCount, LocalDateTime firstSentAt, LocalDateTime lastSentAt, byte[] payload) {
+        MessageArchiveChunk chunk = new MessageArchiveChunk();
+        chunk.conversationId = conversationId;
+        chunk.messageCount = messageCount;
+        chunk.firstSentAt = firstSentAt;
+        chunk.lastSentAt = lastSentAt;
+        chunk.payload = payload;
+        chunk.archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return chunk;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getConversationId() {
+        return conversationId;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public LocalDateTime getFirstSentAt() {
+        return firstSentAt;
+    }
+
+    public LocalDateTime getLastSentAt() {
+        return lastSentAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookcycle.communication.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position in a conversation's message history, ordered by (sentAt, id).
+ */
+public record MessageCursor(Direction direction, UUID messageId, LocalDateTime since) {
+    public enum Direction {
+        LATEST,
+        BEFORE,
+        AFTER,
+        SINCE
+    }
+
+    public static MessageCursor latest() {
+        return new MessageCursor(Direction.LATEST, null, null);
+    }
+
+    public static MessageCursor before(UUID messageId) {
+        return new MessageCursor(Direction.BEFORE, messageId, null);
+    }
+
+    public static MessageCursor after(UUID messageId) {
+        return new MessageCursor(Direction.AFTER, messageId, null);
+    }
+
+    public static MessageCursor since(LocalDateTime since) {
+        return new MessageCursor(Direction.SINCE, null, since);
+    }
+
+    /**
+     * Builds a cursor from optional request parameters; at most one may be set.
+     */
+    public static MessageCursor of(UUID before, UUID after, LocalDateTime since) {
+        int provided = (before != null ? 1 : 0) + (after != null ? 1 : 0) + (since != null ? 1 : 0);
+        if (provided > 1) {
+            throw new IllegalArgumentException("Only one of before, after or since may be given");
+        }
+        if (before != null) {
+            return before(before);
+        }
+        if (after != null) {
+            return after(after);
+        }
+        if (since != null) {
+            return since(since);
+        }
+        return latest();
+    }
+}
@@ -0,0 +1,18 @@
+package com.bookcycle.communication.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A message matching a search, with an HTML-escaped snippet whose matches are wrapped
+ * in &lt;mark&gt; tags.
+ */
+public record MessageSearchHit(
+    UUID messageId,
+    UUID conversationId,
+    UUID listingId,
+    UUID counterpartId,
+    UUID senderId,
+    LocalDateTime sentAt,
+    String snippet) {
+}
@@ -0,0 +1,10 @@
+package com.bookcycle.communication.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Last message a participant has read; readAt is that message's sentAt.
+ */
+public record ReadCursor(UUID conversationId, UUID userId, UUID messageId, LocalDateTime readAt) {
+}
@@ -1,14 +1,33 @@
 package com.bookcycle.communication.domain.service;
 
+import com.bookcycle.communication.domain.model.ArchivedMessage;
 import com.bookcycle.communication.domain.model.Conversation;
 import com.bookcycle.communication.domain.model.Message;
+import com.bookcycle.communication.domain.model.MessageCursor;
+import com.bookcycle.communication.domain.model.MessageSearchHit;
+import com.bookcycle.communication.domain.model.ReadCursor;
+import com.bookcycle.communication.infrastructure.archive.MessageArchiveReader;
 import com.bookcycle.communication.infrastructure.persistence.ConversationRepository;
 import com.bookcycle.communication.infrastructure.persistence.MessageRepository;
+import com.bookcycle.communication.infrastructure.persistence.MessageSearchRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,33 +36,270 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class ChatService {
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_TRACKED_READ_CURSORS = 50_000;
+    private static final int READ_CURSOR_STRIPES = 64;
+
     private final ConversationRepository conversationRepository;
     private final MessageRepository messageRepository;
+    private final MessageArchiveReader messageArchiveReader;
+    private final MessageSearchRepository messageSearchRepository;
+
+    // Last receipt written per reader on this node, used to drop duplicate receipts early.
+    // Only a shortcut: a miss or an entry evicted on another node just falls through to the
+    // conditional UPDATE, which never moves a cursor backwards.
+    private final AcknowledgedReads acknowledgedReads = new AcknowledgedReads();
 
+    /**
+     * Concurrent calls for the same triple converge on one row: the insert is skipped on
+     * conflict and the follow-up read sees whichever row won.
+     */
     @Transactional
     public Conversation getOrCreateConversation(UUID listingId, UUID buyerId, UUID sellerId) {
         return conversationRepository.findByListingIdAndBuyerIdAndSellerId(listingId, buyerId, sellerId)
-            .orElseGet(() -> conversationRepository.save(Conversation.create(listingId, buyerId, sellerId)));
+            .orElseGet(() -> {
+                conversationRepository.insertIfAbsent(
+                    UUID.randomUUID(), listingId, buyerId, sellerId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+                return conversationRepository.findByListingIdAndBuyerIdAndSellerId(listingId, buyerId, sellerId)
+                    .orElseThrow(() -> new IllegalStateException("Conversation could not be created"));
+            });
     }
 
+    /**
+     * Constant-cost send: a row lock and one UPDATE on the conversation plus one INSERT,
+     * independent of conversation length. sent_at is taken under the lock and kept after the
+     * previous message, so sends commit in sent_at order and an {@code after}/{@code since}
+     * poller cannot miss a message that commits late with an earlier timestamp.
+     * Content is scanned for moderation only after the send commits (ChatContentScanListener).
+     */
     @Transactional
     public Message sendMessage(UUID conversationId, UUID senderId, String content) {
-        Conversation conversation = conversationRepository.findById(conversationId)
-            .orElseThrow(() -> new IllegalArgumentException("Conversation not found: " + conversationId));
-
-        Message message = Message.create(conversation, senderId, content);
-        conversation.addMessage(message);
-        conversationRepository.save(conversation);
+        Conversation conversation = conversationRepository.findForSend(conversationId, senderId)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Conversation not found or sender is not a participant: " + conversationId));
+        Message message = Message.create(conversation, senderId, content, nextSentAt(conversation));
+        conversationRepository.recordMessage(
+            conversationId, senderId, Conversation.preview(message.getContent()), message.getSentAt());
         return messageRepository.save(message);
     }
 
+    /**
+     * Returns at most {@code limit} messages around the cursor, always in ascending order.
+     * Archived history is read transparently: archived messages are always older than live
+     * ones, so the archive is only consulted once a page runs past the oldest live message.
+     */
+    @Transactional(readOnly = true)
+    public List<Message> getMessages(UUID conversationId, MessageCursor cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return switch (cursor.direction()) {
+            case LATEST -> withArchivedTail(
+                conversationId, ascending(messageRepository.findLatest(conversationId, PageRequest.of(0, size))), size);
+            case BEFORE -> messagesBefore(conversationId, cursor.messageId(), size);
+            case AFTER -> messagesAfter(conversationId, cursor.messageId(), size);
+            case SINCE -> messagesSince(conversationId, cursor.since(), size);
+        };
+    }
+
+    /**
+     * Version of the conversation's message list: it changes with every committed send, on
+     * any node. Empty when the conversation does not exist.
+     */
     @Transactional(readOnly = true)
-    public List<Message> getMessages(UUID conversationId) {
-        return messageRepository.findByConversationIdOrderBySentAtAsc(conversationId);
+    public Optional<LocalDateTime> getLastMessageAt(UUID conversationId) {
+        return conversationRepository.findLastMessageAt(conversationId);
     }
 
     @Transactional(readOnly = true)
     public List<Conversation> getConversationsForUser(UUID userId) {
         return conversationRepository.findByBuyerIdOrSellerId(userId, userId);
     }
+
+    @Transactional(readOnly = true)
+    public Page<Conversation> getInbox(UUID userId, Pageable pageable) {
+        List<Conversation> conversations = conversationRepository.findInbox(
+            userId, pageable.getPageSize(), pageable.getOffset());
+        return PageableExecutionUtils.getPage(conversations, pageable, () -> conversationRepository.countInbox(userId));
+    }
+
+    /**
+     * Searches the messages of conversations the user participates in, newest first.
+     * Returns a slice (no total count) so a page costs a single index-backed query.
+     * Archived messages are not searched.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MessageSearchHit> searchMessages(UUID userId, String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not exceed " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        PageRequest page = PageRequest.of(pageable.getPageNumber(), Math.max(1, Math.min(pageable.getPageSize(), MAX_PAGE_SIZE)));
+        List<MessageSearchHit> hits = messageSearchRepository.search(
+            userId, query.trim(), (int) page.getOffset(), page.getPageSize() + 1);
+        boolean hasNext = hits.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? hits.subList(0, page.getPageSize()) : hits, page, hasNext);
+    }
+
+    /**
+     * Advances the reader's cursor to {@code messageId} (or the latest message when null).
+     * Bursts of identical or older receipts are absorbed without a write; the returned
+     * cursor is empty when nothing moved.
+     */
+    @Transactional
+    public Optional<ReadCursor> markRead(UUID conversationId, UUID userId, UUID messageId) {
+        ReadCursorKey key = new ReadCursorKey(conversationId, userId);
+        ReadCursor acknowledged = acknowledgedReads.get(key);
+        if (acknowledged != null && messageId != null && messageId.equals(acknowledged.messageId())) {
+            return Optional.empty();
+        }
+
+        Optional<ReadCursor> target = messageId != null
+            ? Optional.of(new ReadCursor(conversationId, userId, messageId, cursorSentAt(conversationId, messageId)))
+            : getMessages(conversationId, MessageCursor.latest(), 1).stream()
+                .findFirst()
+                .map(latest -> new ReadCursor(conversationId, userId, latest.getId(), latest.getSentAt()));
+        if (target.isEmpty()
+                || (acknowledged != null && !target.get().readAt().isAfter(acknowledged.readAt()))) {
+            return Optional.empty();
+        }
+
+        ReadCursor cursor = target.get();
+        Conversation conversation = getConversation(conversationId);
+        int updated;
+        if (userId.equals(conversation.getBuyerId())) {
+            updated = conversationRepository.advanceBuyerReadCursor(
+                conversationId, userId, cursor.messageId(), cursor.readAt());
+        } else if (userId.equals(conversation.getSellerId())) {
+            updated = conversationRepository.advanceSellerReadCursor(
+                conversationId, userId, cursor.messageId(), cursor.readAt());
+        } else {
+            throw new IllegalArgumentException("User is not a participant of this conversation");
+        }
+
+        acknowledgedReads.put(key, cursor);
+        return updated > 0 ? Optional.of(cursor) : Optional.empty();
+    }
+
+    // Strictly after the previous message, even if clocks of different nodes disagree.
+    private static LocalDateTime nextSentAt(Conversation conversation) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime last = conversation.getLastMessageAt();
+        return last != null && !now.isAfter(last) ? last.plus(1, ChronoUnit.MICROS) : now;
+    }
+
+    private Conversation getConversation(UUID conversationId) {
+        return conversationRepository.findById(conversationId)
+            .orElseThrow(() -> new IllegalArgumentException("Conversation not found: " + conversationId));
+    }
+
+    private LocalDateTime cursorSentAt(UUID conversationId, UUID messageId) {
+        return messageRepository.findSentAt(conversationId, messageId)
+            .or(() -> messageArchiveReader.find(conversationId, messageId).map(ArchivedMessage::getSentAt))
+            .orElseThrow(() -> messageNotFound(messageId));
+    }
+
+    // A short live page means the oldest live message was reached; the archive holds the rest.
+    private List<Message> withArchivedTail(UUID conversationId, List<Message> live, int size) {
+        if (live.size() >= size) {
+            return live;
+        }
+        List<Message> result = messageArchiveReader.latest(conversationId, size - live.size());
+        result.addAll(live);
+        return result;
+    }
+
+    private List<Message> messagesBefore(UUID conversationId, UUID messageId, int size) {
+        Optional<LocalDateTime> sentAt = messageRepository.findSentAt(conversationId, messageId);
+        if (sentAt.isPresent()) {
+            return withArchivedTail(conversationId, ascending(messageRepository.findBefore(
+                conversationId, sentAt.get(), messageId, PageRequest.of(0, size))), size);
+        }
+        ArchivedMessage anchor = messageArchiveReader.find(conversationId, messageId)
+            .orElseThrow(() -> messageNotFound(messageId));
+        return messageArchiveReader.before(anchor, size);
+    }
+
+    private List<Message> messagesAfter(UUID conversationId, UUID messageId, int size) {
+        Optional<LocalDateTime> sentAt = messageRepository.findSentAt(conversationId, messageId);
+        if (sentAt.isPresent()) {
+            return messageRepository.findAfter(conversationId, sentAt.get(), messageId, PageRequest.of(0, size));
+        }
+        ArchivedMessage anchor = messageArchiveReader.find(conversationId, messageId)
+            .orElseThrow(() -> messageNotFound(messageId));
+        List<Message> result = messageArchiveReader.after(anchor, size);
+        if (result.size() < size) {
+            LocalDateTime lastSentAt = result.isEmpty() ? anchor.getSentAt() : result.get(result.size() - 1).getSentAt();
+            UUID lastId = result.isEmpty() ? anchor.getId() : result.get(result.size() - 1).getId();
+            result.addAll(messageRepository.findAfter(
+                conversationId, lastSentAt, lastId, PageRequest.of(0, size - result.size())));
+        }
+        return result;
+    }
+
+    private List<Message> messagesSince(UUID conversationId, LocalDateTime since, int size) {
+        boolean archiveReached = messageArchiveReader.findLastSentAt(conversationId)
+            .map(lastArchived -> lastArchived.isAfter(since))
+            .orElse(false);
+        if (!archiveReached) {
+            return messageRepository.findSince(conversationId, since, PageRequest.of(0, size));
+        }
+        List<Message> result = messageArchiveReader.since(conversationId, since, size);
+        if (result.size() < size) {
+            result.addAll(messageRepository.findSince(conversationId, since, PageRequest.of(0, size - result.size())));
+        }
+        return result;
+    }
+
+    private static IllegalArgumentException messageNotFound(UUID messageId) {
+        return new IllegalArgumentException("Message not found in conversation: " + messageId);
+    }
+
+    private static List<Message> ascending(List<Message> newestFirst) {
+        List<Message> result = new ArrayList<>(newestFirst);
+        Collections.reverse(result);
+        return result;
+    }
+
+    private record ReadCursorKey(UUID conversationId, UUID userId) {
+    }
+
+    /**
+     * Bounded LRU of acknowledged read cursors, striped by key so receipts for different
+     * readers do not contend on one lock.
+     */
+    private static final class AcknowledgedReads {
+        private final List<Map<ReadCursorKey, ReadCursor>> stripes = new ArrayList<>(READ_CURSOR_STRIPES);
+
+        AcknowledgedReads() {
+            int capacity = MAX_TRACKED_READ_CURSORS / READ_CURSOR_STRIPES;
+            for (int i = 0; i < READ_CURSOR_STRIPES; i++) {
+                stripes.add(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<ReadCursorKey, ReadCursor> eldest) {
+                        return size() > capacity;
+                    }
+                });
+            }
+        }
+
+        ReadCursor get(ReadCursorKey key) {
+            Map<ReadCursorKey, ReadCursor> stripe = stripe(key);
+            synchronized (stripe) {
+                return stripe.get(key);
+            }
+        }
+
+        void put(ReadCursorKey key, ReadCursor cursor) {
+            Map<ReadCursorKey, ReadCursor> stripe = stripe(key);
+            synchronized (stripe) {
+                stripe.put(key, cursor);
+            }
+        }
+
+        private Map<ReadCursorKey, ReadCursor> stripe(ReadCursorKey key) {
+            return stripes.get(Math.floorMod(key.hashCode(), READ_CURSOR_STRIPES));
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.bookcycle.communication.domain.service;
+
+import com.bookcycle.communication.domain.model.Conversation;
+import com.bookcycle.communication.domain.model.Message;
+import com.bookcycle.communication.domain.model.MessageArchiveChunk;
+import com.bookcycle.communication.infrastructure.archive.MessageArchiveCodec;
+import com.bookcycle.communication.infrastructure.persistence.ArchivedMessageRepository;
+import com.bookcycle.communication.infrastructure.persistence.ConversationRepository;
+import com.bookcycle.communication.infrastructure.persistence.MessageArchiveChunkRepository;
+import com.bookcycle.communication.infrastructure.persistence.MessageRepository;
+import com.bookcycle.communication.infrastructure.persistence.MessageRepository.MessageRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves the history of inactive conversations out of communication.messages into compressed
+ * chunks of at most {@link #CHUNK_SIZE} messages. ChatService reads both transparently.
+ */
+@Service
+@RequiredArgsConstructor
+public class MessageArchivalService {
+    // One chunk covers a full page, so a page decodes at most two chunks.
+    public static final int CHUNK_SIZE = ChatService.MAX_PAGE_SIZE;
+
+    private final ConversationRepository conversationRepository;
+    private final MessageRepository messageRepository;
+    private final MessageArchiveChunkRepository chunkRepository;
+    private final ArchivedMessageRepository archivedMessageRepository;
+
+    @Transactional(readOnly = true)
+    public List<UUID> findCandidates(LocalDateTime cutoff, int limit) {
+        return conversationRepository.findArchivalCandidates(cutoff, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Appends all live messages of the conversation to its archive as new chunks and deletes
+     * them from communication.messages; existing chunks are never rewritten. Live messages are
+     * walked one chunk at a time by (sent_at, id), so only a single chunk is held in memory.
+     * Returns the number of archived messages; zero if the conversation became active again
+     * in the meantime.
+     */
+    @Transactional
+    public int archiveConversation(UUID conversationId, LocalDateTime cutoff) {
+        Conversation conversation = conversationRepository.findForArchival(conversationId).orElse(null);
+        if (conversation == null || !conversation.getLastMessageAt().isBefore(cutoff)) {
+            return 0;
+        }
+
+        PageRequest chunk = PageRequest.of(0, CHUNK_SIZE);
+        int archived = 0;
+        List<Message> messages = toMessages(messageRepository.findOldestRows(conversationId, chunk));
+        while (!messages.isEmpty()) {
+            Message last = messages.get(messages.size() - 1);
+            chunkRepository.save(MessageArchiveChunk.create(
+                conversationId,
+                messages.size(),
+                messages.get(0).getSentAt(),
+                last.getSentAt(),
+                MessageArchiveCodec.encode(messages)));
+            archived += messages.size();
+            messages = messages.size() < CHUNK_SIZE
+                ? List.of()
+                : toMessages(messageRepository.findRowsAfter(conversationId, last.getSentAt(), last.getId(), chunk));
+        }
+        if (archived > 0) {
+            archivedMessageRepository.insertFromLive(conversationId);
+            messageRepository.deleteByConversation(conversationId);
+        }
+        conversationRepository.markArchived(conversationId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return archived;
+    }
+
+    private static List<Message> toMessages(List<MessageRow> rows) {
+        return rows.stream()
+            .map(row -> Message.restore(row.getId(), row.getSenderId(), row.getContent(), row.getSentAt()))
+            .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bookcycle.communication.infrastructure.archive;
+
+import com.bookcycle.communication.domain.model.Message;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compressed binary encoding of archived messages, oldest first.
+ *
+ * Layout: version, count, then per message id, sender id, sent_at (microseconds since 1970-01-01)
+ * and the UTF-8 content.
+ */
+public final class MessageArchiveCodec {
+    private static final int VERSION = 1;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private MessageArchiveCodec() {
+    }
+
+    public static byte[] encode(List<Message> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(messages.size());
+            for (Message message : messages) {
+                writeUuid(out, message.getId());
+                writeUuid(out, message.getSenderId());
+                out.writeLong(ChronoUnit.MICROS.between(EPOCH, message.getSentAt()));
+                out.writeUTF(message.getContent());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not encode message archive", ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<Message> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported message archive version: " + version);
+            }
+            int count = in.readInt();
+            List<Message> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = readUuid(in);
+                UUID senderId = readUuid(in);
+                LocalDateTime sentAt = EPOCH.plus(in.readLong(), ChronoUnit.MICROS);
+                messages.add(Message.restore(id, senderId, in.readUTF(), sentAt));
+            }
+            return messages;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not decode message archive", ex);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
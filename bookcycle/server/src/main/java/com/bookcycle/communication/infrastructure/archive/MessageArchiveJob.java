@@ -0,0 +1,72 @@
+package com.bookcycle.communication.infrastructure.archive;
+
+import com.bookcycle.communication.domain.service.MessageArchivalService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly housekeeping of chat history:
+ *
+ * - Keeps monthly message partitions created ahead of time
+ * - Archives conversations without messages for {@code inactive-months}, one transaction each
+ * - Drops monthly partitions that archiving left empty
+ */
+@Component
+public class MessageArchiveJob {
+    private final MessageArchivalService archivalService;
+    private final MessagePartitionMaintenance partitionMaintenance;
+
+    @Value("${app.chat.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.chat.archive.inactive-months:12}")
+    private int inactiveMonths;
+
+    @Value("${app.chat.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.chat.archive.max-conversations-per-run:10000}")
+    private int maxConversationsPerRun;
+
+    @Value("${app.chat.archive.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    public MessageArchiveJob(MessageArchivalService archivalService, MessagePartitionMaintenance partitionMaintenance) {
+        this.archivalService = archivalService;
+        this.partitionMaintenance = partitionMaintenance;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        partitionMaintenance.ensurePartitions(partitionsAhead);
+    }
+
+    @Scheduled(cron = "${app.chat.archive.cron:0 30 3 * * *}")
+    public void run() {
+        partitionMaintenance.ensurePartitions(partitionsAhead);
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(inactiveMonths);
+        int processed = 0;
+        while (processed < maxConversationsPerRun) {
+            List<UUID> candidates = archivalService.findCandidates(
+                cutoff, Math.min(batchSize, maxConversationsPerRun - processed));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (UUID conversationId : candidates) {
+                archivalService.archiveConversation(conversationId, cutoff);
+            }
+            processed += candidates.size();
+        }
+        partitionMaintenance.dropEmptyPartitionsBefore(cutoff.toLocalDate());
+    }
+}
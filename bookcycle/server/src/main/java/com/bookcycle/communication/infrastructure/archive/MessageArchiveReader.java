@@ -0,0 +1,189 @@
+package com.bookcycle.communication.infrastructure.archive;
+
+import com.bookcycle.communication.domain.model.ArchivedMessage;
+import com.bookcycle.communication.domain.model.Message;
+import com.bookcycle.communication.domain.model.MessageArchiveChunk;
+import com.bookcycle.communication.infrastructure.persistence.ArchivedMessageRepository;
+import com.bookcycle.communication.infrastructure.persistence.MessageArchiveChunkRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads archived history chunk by chunk. Every lookup starts from an indexed sent_at bound and
+ * stops once it has enough messages, so memory and work follow the page size, not the size of
+ * the conversation's archive. All results are oldest first.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageArchiveReader {
+    // Chunks fetched per round trip; two cover any page of up to CHUNK_SIZE messages.
+    private static final int CHUNKS_PER_FETCH = 2;
+
+    private final MessageArchiveChunkRepository chunkRepository;
+    private final ArchivedMessageRepository archivedMessageRepository;
+
+    public Optional<LocalDateTime> findLastSentAt(UUID conversationId) {
+        return chunkRepository.findLastSentAt(conversationId);
+    }
+
+    public Optional<ArchivedMessage> find(UUID conversationId, UUID messageId) {
+        return archivedMessageRepository.findInConversation(conversationId, messageId);
+    }
+
+    public boolean exists(UUID messageId) {
+        return archivedMessageRepository.existsById(messageId);
+    }
+
+    /**
+     * The newest {@code count} archived messages of the conversation.
+     */
+    public List<Message> latest(UUID conversationId, int count) {
+        Deque<Message> result = new ArrayDeque<>(count);
+        scan(page -> chunkRepository.findNewest(conversationId, page), messages -> {
+            for (int i = messages.size() - 1; i >= 0 && result.size() < count; i--) {
+                result.addFirst(messages.get(i));
+            }
+            return result.size() < count;
+        });
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Up to {@code count} archived messages right before the anchor.
+     */
+    public List<Message> before(ArchivedMessage anchor, int count) {
+        Deque<Message> result = new ArrayDeque<>(count);
+        boolean[] anchorSeen = {false};
+        scan(page -> chunkRepository.findStartingAtOrBefore(anchor.getConversationId(), anchor.getSentAt(), page),
+            messages -> {
+                int end = messages.size();
+                if (!anchorSeen[0]) {
+                    end = indexOf(messages, anchor.getId());
+                    // A chunk starting at the anchor's sent_at need not hold the anchor itself.
+                    if (end < 0) {
+                        return true;
+                    }
+                    anchorSeen[0] = true;
+                }
+                for (int i = end - 1; i >= 0 && result.size() < count; i--) {
+                    result.addFirst(messages.get(i));
+                }
+                return result.size() < count;
+            });
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Up to {@code count} archived messages right after the anchor; fewer once the archive ends.
+     */
+    public List<Message> after(ArchivedMessage anchor, int count) {
+        List<Message> result = new ArrayList<>(count);
+        boolean[] anchorSeen = {false};
+        scan(page -> chunkRepository.findEndingAtOrAfter(anchor.getConversationId(), anchor.getSentAt(), page),
+            messages -> {
+                int start = 0;
+                if (!anchorSeen[0]) {
+                    start = indexOf(messages, anchor.getId()) + 1;
+                    if (start == 0) {
+                        return true;
+                    }
+                    anchorSeen[0] = true;
+                }
+                for (int i = start; i < messages.size() && result.size() < count; i++) {
+                    result.add(messages.get(i));
+                }
+                return result.size() < count;
+            });
+        return result;
+    }
+
+    /**
+     * Up to {@code count} archived messages sent after {@code since}; fewer once the archive ends.
+     */
+    public List<Message> since(UUID conversationId, LocalDateTime since, int count) {
+        List<Message> result = new ArrayList<>(count);
+        scan(page -> chunkRepository.findEndingAtOrAfter(conversationId, since, page), messages -> {
+            for (Message message : messages) {
+                if (result.size() < count && message.getSentAt().isAfter(since)) {
+                    result.add(message);
+                }
+            }
+            return result.size() < count;
+        });
+        return result;
+    }
+
+    /**
+     * Excerpts of archived messages by id; ids that are not archived are left out. Decodes
+     * only the chunks holding the requested messages, each at most once.
+     */
+    public Map<UUID, String> findExcerpts(Collection<UUID> messageIds, int length) {
+        Map<UUID, String> excerpts = new HashMap<>();
+        Map<UUID, List<Message>> decoded = new HashMap<>();
+        for (ArchivedMessage archived : archivedMessageRepository.findAllById(messageIds)) {
+            scan(page -> chunkRepository.findStartingAtOrBefore(archived.getConversationId(), archived.getSentAt(), page),
+                decoded,
+                messages -> {
+                    int index = indexOf(messages, archived.getId());
+                    if (index < 0) {
+                        return true;
+                    }
+                    String content = messages.get(index).getContent();
+                    excerpts.put(archived.getId(), content.substring(0, Math.min(length, content.length())));
+                    return false;
+                });
+        }
+        return excerpts;
+    }
+
+    private void scan(Function<Pageable, List<MessageArchiveChunk>> query, Predicate<List<Message>> visitor) {
+        scan(query, null, visitor);
+    }
+
+    /**
+     * Decodes chunks in query order until the visitor returns false or the chunks run out.
+     * Chunks already in {@code decoded}, when given, are not decoded again.
+     */
+    private void scan(
+            Function<Pageable, List<MessageArchiveChunk>> query,
+            Map<UUID, List<Message>> decoded,
+            Predicate<List<Message>> visitor) {
+        for (int page = 0; ; page++) {
+            List<MessageArchiveChunk> chunks = query.apply(PageRequest.of(page, CHUNKS_PER_FETCH));
+            for (MessageArchiveChunk chunk : chunks) {
+                List<Message> messages = decoded == null
+                    ? MessageArchiveCodec.decode(chunk.getPayload())
+                    : decoded.computeIfAbsent(chunk.getId(), id -> MessageArchiveCodec.decode(chunk.getPayload()));
+                if (!visitor.test(messages)) {
+                    return;
+                }
+            }
+            if (chunks.size() < CHUNKS_PER_FETCH) {
+                return;
+            }
+        }
+    }
+
+    private static int indexOf(List<Message> messages, UUID messageId) {
+        for (int i = 0; i < messages.size(); i++) {
+            if (messages.get(i).getId().equals(messageId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
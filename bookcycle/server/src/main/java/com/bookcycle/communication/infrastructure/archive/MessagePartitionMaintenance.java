@@ -0,0 +1,46 @@
+package com.bookcycle.communication.infrastructure.archive;
+
+import com.bookcycle.shared.infrastructure.persistence.DatabasePlatform;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monthly range partitions of communication.messages (PostgreSQL only).
+ * The DDL lives in the SQL functions created by infra/init-db.sql; other databases
+ * (e.g. H2 in tests) keep a plain table and are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessagePartitionMaintenance {
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    /**
+     * Creates the partitions for the current month and the next {@code monthsAhead} months.
+     */
+    public void ensurePartitions(int monthsAhead) {
+        if (!databasePlatform.isPostgres()) {
+            return;
+        }
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            jdbcTemplate.queryForObject(
+                "select communication.ensure_message_partition(?)", String.class, month.plusMonths(i).atDay(1));
+        }
+    }
+
+    /**
+     * Drops monthly partitions that end before the cutoff and hold no messages anymore.
+     */
+    public int dropEmptyPartitionsBefore(LocalDate cutoff) {
+        if (!databasePlatform.isPostgres()) {
+            return 0;
+        }
+        Integer dropped = jdbcTemplate.queryForObject(
+            "select communication.drop_empty_message_partitions(?)", Integer.class, cutoff);
+        return dropped == null ? 0 : dropped;
+    }
+}
@@ -0,0 +1,222 @@
+package com.bookcycle.communication.infrastructure.cache;
+
+import com.bookcycle.communication.application.dto.MessageResponse;
+import com.bookcycle.communication.domain.model.MessageCursor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffer of the latest messages per active conversation.
+ *
+ * - Filled on read and extended by committed sends; the database stays the source of truth
+ * - A buffer is tagged with the conversation's last_message_at it was loaded at and only
+ *   served while that still matches, so a send through another node retires it
+ * - Conversations are kept in segments, each evicted least-recently-used once its share of
+ *   the memory budget is exceeded; readers of different segments never contend
+ * - A buffer answers a read only if it provably covers the requested range
+ */
+@Component
+public class RecentMessageCache {
+    private static final int SEGMENTS = 64;
+    private static final long SNAPSHOT_OVERHEAD_BYTES = 256;
+    private static final long MESSAGE_OVERHEAD_BYTES = 160;
+
+    private final int capacity;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public RecentMessageCache(
+            @Value("${app.chat.cache.messages-per-conversation:50}") int capacity,
+            @Value("${app.chat.cache.max-bytes:33554432}") long maxBytes) {
+        this.capacity = capacity;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maxBytes / SEGMENTS);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param lastMessageAt the conversation's current last_message_at
+     */
+    public boolean isCurrent(UUID conversationId, LocalDateTime lastMessageAt) {
+        Snapshot snapshot = segment(conversationId).get(conversationId);
+        return snapshot != null && snapshot.isCurrent(lastMessageAt);
+    }
+
+    /**
+     * @param lastMessageAt last_message_at read before the messages were loaded
+     * @param latestAscending the newest messages of the conversation, oldest first
+     */
+    public void install(UUID conversationId, LocalDateTime lastMessageAt, List<MessageResponse> latestAscending) {
+        if (capacity <= 0 || lastMessageAt == null) {
+            return;
+        }
+        List<MessageResponse> messages = latestAscending.size() > capacity
+            ? latestAscending.subList(latestAscending.size() - capacity, latestAscending.size())
+            : latestAscending;
+        segment(conversationId).put(
+            conversationId, new Snapshot(List.copyOf(messages), latestAscending.size() < capacity, lastMessageAt));
+    }
+
+    /**
+     * Appends a committed message to the buffer, provided the buffer is exactly one send
+     * behind it; otherwise the buffer is left to be retired by the next read.
+     *
+     * @param previousLastMessageAt last_message_at before the message was sent
+     */
+    public void append(UUID conversationId, LocalDateTime previousLastMessageAt, MessageResponse message) {
+        if (capacity <= 0) {
+            return;
+        }
+        segment(conversationId).append(conversationId, previousLastMessageAt, message, capacity);
+    }
+
+    /**
+     * @param lastMessageAt the conversation's current last_message_at
+     */
+    public Optional<List<MessageResponse>> read(
+            UUID conversationId, LocalDateTime lastMessageAt, MessageCursor cursor, int limit) {
+        Snapshot snapshot = segment(conversationId).get(conversationId);
+        if (snapshot == null || limit > capacity || !snapshot.isCurrent(lastMessageAt)) {
+            return Optional.empty();
+        }
+        int size = Math.max(1, limit);
+        return switch (cursor.direction()) {
+            case LATEST -> snapshot.latest(size);
+            case AFTER -> snapshot.after(cursor.messageId(), size);
+            case SINCE -> snapshot.since(cursor.since(), size);
+            case BEFORE -> Optional.empty();
+        };
+    }
+
+    private Segment segment(UUID conversationId) {
+        return segments[conversationId.hashCode() & (SEGMENTS - 1)];
+    }
+
+    private static long sizeOf(MessageResponse message) {
+        String content = message.getContent();
+        return MESSAGE_OVERHEAD_BYTES + (content != null ? 2L * content.length() : 0);
+    }
+
+    private static final class Segment {
+        private final long maxBytes;
+        private final LinkedHashMap<UUID, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+        private long usedBytes;
+
+        private Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized Snapshot get(UUID conversationId) {
+            return snapshots.get(conversationId);
+        }
+
+        // A slow loader must not replace a buffer that was installed from a newer state.
+        private synchronized void put(UUID conversationId, Snapshot snapshot) {
+            Snapshot previous = snapshots.get(conversationId);
+            if (previous != null && previous.lastMessageAt.isAfter(snapshot.lastMessageAt)) {
+                return;
+            }
+            if (previous != null) {
+                usedBytes -= previous.bytes;
+            }
+            snapshots.put(conversationId, snapshot);
+            usedBytes += snapshot.bytes;
+            Iterator<Snapshot> eldest = snapshots.values().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().bytes;
+                eldest.remove();
+            }
+        }
+
+        private synchronized void append(
+                UUID conversationId, LocalDateTime previousLastMessageAt, MessageResponse message, int capacity) {
+            Snapshot snapshot = snapshots.get(conversationId);
+            if (snapshot != null && snapshot.isCurrent(previousLastMessageAt)) {
+                put(conversationId, snapshot.append(message, capacity));
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of the newest messages, oldest first.
+     */
+    private static final class Snapshot {
+        private final List<MessageResponse> messages;
+        // True when the snapshot holds the entire conversation.
+        private final boolean complete;
+        private final LocalDateTime lastMessageAt;
+        private final long bytes;
+
+        private Snapshot(List<MessageResponse> messages, boolean complete, LocalDateTime lastMessageAt) {
+            this.messages = messages;
+            this.complete = complete;
+            this.lastMessageAt = lastMessageAt;
+            this.bytes = SNAPSHOT_OVERHEAD_BYTES + messages.stream().mapToLong(RecentMessageCache::sizeOf).sum();
+        }
+
+        private boolean isCurrent(LocalDateTime current) {
+            return Objects.equals(lastMessageAt, current);
+        }
+
+        private Snapshot append(MessageResponse message, int capacity) {
+            List<MessageResponse> appended = new ArrayList<>(messages);
+            appended.add(message);
+            boolean trimmed = appended.size() > capacity;
+            if (trimmed) {
+                appended.remove(0);
+            }
+            return new Snapshot(List.copyOf(appended), complete && !trimmed, message.getSentAt());
+        }
+
+        private Optional<List<MessageResponse>> latest(int limit) {
+            if (!complete && messages.size() < limit) {
+                return Optional.empty();
+            }
+            return Optional.of(messages.subList(Math.max(0, messages.size() - limit), messages.size()));
+        }
+
+        private Optional<List<MessageResponse>> after(UUID messageId, int limit) {
+            List<MessageResponse> result = new ArrayList<>();
+            boolean found = false;
+            for (MessageResponse message : messages) {
+                if (found) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    result.add(message);
+                } else if (message.getId().equals(messageId)) {
+                    found = true;
+                }
+            }
+            return found ? Optional.of(result) : Optional.empty();
+        }
+
+        private Optional<List<MessageResponse>> since(LocalDateTime since, int limit) {
+            MessageResponse oldest = messages.isEmpty() ? null : messages.get(0);
+            if (!complete && (oldest == null || oldest.getSentAt().isAfter(since))) {
+                return Optional.empty();
+            }
+            List<MessageResponse> result = new ArrayList<>();
+            for (MessageResponse message : messages) {
+                if (result.size() == limit) {
+                    break;
+                }
+                if (message.getSentAt().isAfter(since)) {
+                    result.add(message);
+                }
+            }
+            return Optional.of(result);
+        }
+    }
+}
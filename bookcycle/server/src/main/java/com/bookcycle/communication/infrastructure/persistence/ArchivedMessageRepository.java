@@ -0,0 +1,26 @@
+package com.bookcycle.communication.infrastructure.persistence;
+
+import com.bookcycle.communication.domain.model.ArchivedMessage;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedMessageRepository extends JpaRepository<ArchivedMessage, UUID> {
+    @Query("select a from ArchivedMessage a where a.id = :messageId and a.conversationId = :conversationId")
+    Optional<ArchivedMessage> findInConversation(
+        @Param("conversationId") UUID conversationId,
+        @Param("messageId") UUID messageId);
+
+    /**
+     * Records the locators of all live messages of the conversation; run right before they
+     * are deleted from communication.messages.
+     */
+    @Modifying
+    @Query(value = "insert into communication.archived_messages (id, conversation_id, sent_at) "
+        + "select id, conversation_id, sent_at from communication.messages where conversation_id = :conversationId",
+        nativeQuery = true)
+    int insertFromLive(@Param("conversationId") UUID conversationId);
+}
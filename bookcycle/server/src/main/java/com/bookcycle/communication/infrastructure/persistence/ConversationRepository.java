@@ -1,12 +1,139 @@
 package com.bookcycle.communication.infrastructure.persistence;
 
 import com.bookcycle.communication.domain.model.Conversation;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ConversationRepository extends JpaRepository<Conversation, UUID> {
     Optional<Conversation> findByListingIdAndBuyerIdAndSellerId(UUID listingId, UUID buyerId, UUID sellerId);
     List<Conversation> findByBuyerIdOrSellerId(UUID buyerId, UUID sellerId);
+
+    /**
+     * Inserts the conversation unless one already exists for the (listing, buyer, seller)
+     * triple; relies on uk_conversations_listing_buyer_seller. ON CONFLICT DO NOTHING is
+     * understood by PostgreSQL and by H2 in PostgreSQL mode.
+     */
+    @Modifying
+    @Query(value = "insert into communication.conversations "
+        + "(id, listing_id, buyer_id, seller_id, created_at, last_message_at, buyer_unread_count, seller_unread_count) "
+        + "values (:id, :listingId, :buyerId, :sellerId, :createdAt, :createdAt, 0, 0) "
+        + "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(
+        @Param("id") UUID id,
+        @Param("listingId") UUID listingId,
+        @Param("buyerId") UUID buyerId,
+        @Param("sellerId") UUID sellerId,
+        @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Inbox of a user, newest activity first. An OR over buyer_id and seller_id cannot use
+     * either role index, so each role is a separate branch on its own index
+     * (idx_conversations_buyer_inbox, idx_conversations_seller_inbox). Both branches come out
+     * ordered, so the database merges them and stops after {@code pageOffset + pageSize} rows.
+     */
+    @Query(value = "select * from ("
+        + "select * from communication.conversations where buyer_id = :userId "
+        + "union all "
+        + "select * from communication.conversations where seller_id = :userId and buyer_id <> :userId"
+        + ") c order by c.last_message_at desc, c.id desc limit :pageSize offset :pageOffset", nativeQuery = true)
+    List<Conversation> findInbox(
+        @Param("userId") UUID userId,
+        @Param("pageSize") int pageSize,
+        @Param("pageOffset") long pageOffset);
+
+    @Query(value = "select (select count(*) from communication.conversations where buyer_id = :userId) "
+        + "+ (select count(*) from communication.conversations where seller_id = :userId and buyer_id <> :userId)",
+        nativeQuery = true)
+    long countInbox(@Param("userId") UUID userId);
+
+    /**
+     * Locks the conversation for a send by one of its participants. The lock is held until
+     * commit, so sends to one conversation commit in the order of their sent_at.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Conversation c "
+        + "where c.id = :conversationId and (c.buyerId = :senderId or c.sellerId = :senderId)")
+    Optional<Conversation> findForSend(
+        @Param("conversationId") UUID conversationId,
+        @Param("senderId") UUID senderId);
+
+    /**
+     * Bumps last-message data and the recipient's unread counter in one statement.
+     * Returns 0 when the conversation does not exist or the sender is not a participant.
+     */
+    @Modifying
+    @Query("update Conversation c set c.lastMessageAt = :sentAt, c.lastMessagePreview = :preview, "
+        + "c.lastMessageSenderId = :senderId, "
+        + "c.buyerUnreadCount = case when c.buyerId = :senderId then c.buyerUnreadCount else c.buyerUnreadCount + 1 end, "
+        + "c.sellerUnreadCount = case when c.sellerId = :senderId then c.sellerUnreadCount else c.sellerUnreadCount + 1 end "
+        + "where c.id = :conversationId and (c.buyerId = :senderId or c.sellerId = :senderId)")
+    int recordMessage(
+        @Param("conversationId") UUID conversationId,
+        @Param("senderId") UUID senderId,
+        @Param("preview") String preview,
+        @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Moves the buyer's read cursor forward only; stale or repeated receipts update nothing.
+     * The unread counter is maintained incrementally: reading up to the latest message clears
+     * it, any other receipt acknowledges one message. It never drops below zero.
+     */
+    @Modifying
+    @Query("update Conversation c set c.buyerLastReadMessageId = :messageId, c.buyerLastReadAt = :readAt, "
+        + "c.buyerUnreadCount = case when :readAt >= c.lastMessageAt then 0 "
+        + "when c.buyerUnreadCount > 0 then c.buyerUnreadCount - 1 else 0 end "
+        + "where c.id = :conversationId and c.buyerId = :userId "
+        + "and (c.buyerLastReadAt is null or c.buyerLastReadAt < :readAt)")
+    int advanceBuyerReadCursor(
+        @Param("conversationId") UUID conversationId,
+        @Param("userId") UUID userId,
+        @Param("messageId") UUID messageId,
+        @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("update Conversation c set c.sellerLastReadMessageId = :messageId, c.sellerLastReadAt = :readAt, "
+        + "c.sellerUnreadCount = case when :readAt >= c.lastMessageAt then 0 "
+        + "when c.sellerUnreadCount > 0 then c.sellerUnreadCount - 1 else 0 end "
+        + "where c.id = :conversationId and c.sellerId = :userId "
+        + "and (c.sellerLastReadAt is null or c.sellerLastReadAt < :readAt)")
+    int advanceSellerReadCursor(
+        @Param("conversationId") UUID conversationId,
+        @Param("userId") UUID userId,
+        @Param("messageId") UUID messageId,
+        @Param("readAt") LocalDateTime readAt);
+
+    @Query("select c.lastMessageAt from Conversation c where c.id = :conversationId")
+    Optional<LocalDateTime> findLastMessageAt(@Param("conversationId") UUID conversationId);
+
+    @Query("select count(c) > 0 from Conversation c "
+        + "where c.id = :conversationId and (c.buyerId = :userId or c.sellerId = :userId)")
+    boolean isParticipant(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId);
+
+    /**
+     * Conversations whose last message is older than the cutoff and that still have
+     * messages outside the archive.
+     */
+    @Query("select c.id from Conversation c where c.lastMessageAt < :cutoff "
+        + "and (c.archivedAt is null or c.archivedAt < c.lastMessageAt) order by c.lastMessageAt")
+    List<UUID> findArchivalCandidates(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Row lock shared with recordMessage, so a send cannot interleave with archiving.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Conversation c where c.id = :conversationId")
+    Optional<Conversation> findForArchival(@Param("conversationId") UUID conversationId);
+
+    @Modifying
+    @Query("update Conversation c set c.archivedAt = :archivedAt where c.id = :conversationId")
+    int markArchived(@Param("conversationId") UUID conversationId, @Param("archivedAt") LocalDateTime archivedAt);
 }
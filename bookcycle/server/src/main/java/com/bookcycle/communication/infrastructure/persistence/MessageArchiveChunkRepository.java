@@ -0,0 +1,47 @@
+package com.bookcycle.communication.infrastructure.persistence;
+
+import com.bookcycle.communication.domain.model.MessageArchiveChunk;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Chunk lookups by sent_at, matching idx_message_archive_chunks_first and
+ * idx_message_archive_chunks_last. Callers page through chunks until they have enough messages.
+ */
+public interface MessageArchiveChunkRepository extends JpaRepository<MessageArchiveChunk, UUID> {
+    /**
+     * Archive boundary without loading any payload.
+     */
+    @Query("select max(c.lastSentAt) from MessageArchiveChunk c where c.conversationId = :conversationId")
+    Optional<LocalDateTime> findLastSentAt(@Param("conversationId") UUID conversationId);
+
+    /**
+     * Chunks starting at or before {@code sentAt}, newest first.
+     */
+    @Query("select c from MessageArchiveChunk c where c.conversationId = :conversationId "
+        + "and c.firstSentAt <= :sentAt order by c.firstSentAt desc")
+    List<MessageArchiveChunk> findStartingAtOrBefore(
+        @Param("conversationId") UUID conversationId,
+        @Param("sentAt") LocalDateTime sentAt,
+        Pageable pageable);
+
+    /**
+     * Chunks ending at or after {@code sentAt}, oldest first.
+     */
+    @Query("select c from MessageArchiveChunk c where c.conversationId = :conversationId "
+        + "and c.lastSentAt >= :sentAt order by c.firstSentAt asc")
+    List<MessageArchiveChunk> findEndingAtOrAfter(
+        @Param("conversationId") UUID conversationId,
+        @Param("sentAt") LocalDateTime sentAt,
+        Pageable pageable);
+
+    @Query("select c from MessageArchiveChunk c where c.conversationId = :conversationId "
+        + "order by c.firstSentAt desc")
+    List<MessageArchiveChunk> findNewest(@Param("conversationId") UUID conversationId, Pageable pageable);
+}
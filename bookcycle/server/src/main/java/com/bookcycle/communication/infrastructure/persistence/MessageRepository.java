@@ -1,10 +1,89 @@
 package com.bookcycle.communication.infrastructure.persistence;
 
 import com.bookcycle.communication.domain.model.Message;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+/**
+ * History queries are keyset-paginated over (conversation_id, sent_at, id),
+ * matching idx_messages_conversation_sent_at.
+ */
 public interface MessageRepository extends JpaRepository<Message, UUID> {
-    List<Message> findByConversationIdOrderBySentAtAsc(UUID conversationId);
+    interface MessageExcerpt {
+        UUID getId();
+        String getExcerpt();
+    }
+
+    interface MessageRow {
+        UUID getId();
+        UUID getSenderId();
+        String getContent();
+        LocalDateTime getSentAt();
+    }
+
+    @Query("select m.id as id, substring(m.content, 1, :length) as excerpt from Message m where m.id in :ids")
+    List<MessageExcerpt> findExcerpts(@Param("ids") Collection<UUID> ids, @Param("length") int length);
+
+    @Query("select m.sentAt from Message m where m.id = :messageId and m.conversation.id = :conversationId")
+    Optional<LocalDateTime> findSentAt(
+        @Param("conversationId") UUID conversationId,
+        @Param("messageId") UUID messageId);
+
+    @Query("select m from Message m where m.conversation.id = :conversationId "
+        + "order by m.sentAt desc, m.id desc")
+    List<Message> findLatest(@Param("conversationId") UUID conversationId, Pageable pageable);
+
+    @Query("select m from Message m where m.conversation.id = :conversationId "
+        + "and (m.sentAt < :sentAt or (m.sentAt = :sentAt and m.id < :messageId)) "
+        + "order by m.sentAt desc, m.id desc")
+    List<Message> findBefore(
+        @Param("conversationId") UUID conversationId,
+        @Param("sentAt") LocalDateTime sentAt,
+        @Param("messageId") UUID messageId,
+        Pageable pageable);
+
+    @Query("select m from Message m where m.conversation.id = :conversationId "
+        + "and (m.sentAt > :sentAt or (m.sentAt = :sentAt and m.id > :messageId)) "
+        + "order by m.sentAt asc, m.id asc")
+    List<Message> findAfter(
+        @Param("conversationId") UUID conversationId,
+        @Param("sentAt") LocalDateTime sentAt,
+        @Param("messageId") UUID messageId,
+        Pageable pageable);
+
+    @Query("select m from Message m where m.conversation.id = :conversationId and m.sentAt > :since "
+        + "order by m.sentAt asc, m.id asc")
+    List<Message> findSince(
+        @Param("conversationId") UUID conversationId,
+        @Param("since") LocalDateTime since,
+        Pageable pageable);
+
+    /**
+     * Archival pages: plain rows, so walking a long history does not fill the persistence context.
+     */
+    @Query("select m.id as id, m.senderId as senderId, m.content as content, m.sentAt as sentAt "
+        + "from Message m where m.conversation.id = :conversationId order by m.sentAt asc, m.id asc")
+    List<MessageRow> findOldestRows(@Param("conversationId") UUID conversationId, Pageable pageable);
+
+    @Query("select m.id as id, m.senderId as senderId, m.content as content, m.sentAt as sentAt "
+        + "from Message m where m.conversation.id = :conversationId "
+        + "and (m.sentAt > :sentAt or (m.sentAt = :sentAt and m.id > :messageId)) "
+        + "order by m.sentAt asc, m.id asc")
+    List<MessageRow> findRowsAfter(
+        @Param("conversationId") UUID conversationId,
+        @Param("sentAt") LocalDateTime sentAt,
+        @Param("messageId") UUID messageId,
+        Pageable pageable);
+
+    @Modifying
+    @Query("delete from Message m where m.conversation.id = :conversationId")
+    int deleteByConversation(@Param("conversationId") UUID conversationId);
 }
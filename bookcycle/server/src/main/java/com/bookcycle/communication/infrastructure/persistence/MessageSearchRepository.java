@@ -0,0 +1,142 @@
+package com.bookcycle.communication.infrastructure.persistence;
+
+import com.bookcycle.communication.domain.model.MessageSearchHit;
+import com.bookcycle.shared.infrastructure.persistence.DatabasePlatform;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Full-text search over the messages of one user's conversations, newest first.
+ *
+ * - PostgreSQL: websearch_to_tsquery against idx_messages_conversation_content_fts, a
+ *   GIN index over (conversation_id, to_tsvector('simple', content)), so only the
+ *   user's conversations are probed; snippets come from ts_headline
+ * - Other databases (H2 in tests): case-insensitive LIKE on every term, snippet built here
+ *
+ * Archived history (communication.message_archive_chunks) is not searched: it is compressed
+ * and only kept for conversations without messages for {@code app.chat.archive.inactive-months}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageSearchRepository {
+    // Control characters as highlight markers: they cannot clash with escaped user content.
+    private static final String MARK_START = "\u0002";
+    private static final String MARK_END = "\u0003";
+    private static final int SNIPPET_CONTEXT = 60;
+
+    private static final String POSTGRES_QUERY = """
+        SELECT m.id, m.conversation_id, c.listing_id, m.sender_id, m.sent_at,
+               CASE WHEN c.buyer_id = :userId THEN c.seller_id ELSE c.buyer_id END AS counterpart_id,
+               ts_headline('simple', m.content, q,
+                   'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxWords=25, MinWords=8, MaxFragments=2') AS snippet
+        FROM communication.messages m
+        JOIN communication.conversations c ON c.id = m.conversation_id
+        CROSS JOIN websearch_to_tsquery('simple', :query) q
+        WHERE m.conversation_id IN (
+                SELECT id FROM communication.conversations WHERE buyer_id = :userId
+                UNION ALL
+                SELECT id FROM communication.conversations WHERE seller_id = :userId)
+          AND to_tsvector('simple', m.content) @@ q
+        ORDER BY m.sent_at DESC, m.id DESC
+        LIMIT :limit OFFSET :offset
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    /**
+     * Returns up to {@code limit} hits starting at {@code offset}.
+     */
+    public List<MessageSearchHit> search(UUID userId, String query, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("userId", userId)
+            .addValue("query", query)
+            .addValue("limit", limit)
+            .addValue("offset", offset);
+        if (databasePlatform.isPostgres()) {
+            return jdbcTemplate.query(POSTGRES_QUERY, params, (rs, row) -> toHit(rs, rs.getString("snippet")));
+        }
+
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("""
+            SELECT m.id, m.conversation_id, c.listing_id, m.sender_id, m.sent_at, m.content,
+                   CASE WHEN c.buyer_id = :userId THEN c.seller_id ELSE c.buyer_id END AS counterpart_id
+            FROM communication.messages m
+            JOIN communication.conversations c ON c.id = m.conversation_id
+            WHERE (c.buyer_id = :userId OR c.seller_id = :userId)
+            """);
+        for (int i = 0; i < terms.size(); i++) {
+            sql.append(" AND LOWER(m.content) LIKE :term").append(i).append(" ESCAPE '\\'");
+            params.addValue("term" + i, "%" + escapeLike(terms.get(i)) + "%");
+        }
+        sql.append(" ORDER BY m.sent_at DESC, m.id DESC LIMIT :limit OFFSET :offset");
+        return jdbcTemplate.query(sql.toString(), params, (rs, row) -> toHit(rs, markTerms(rs.getString("content"), terms)));
+    }
+
+    private MessageSearchHit toHit(ResultSet rs, String markedSnippet) throws SQLException {
+        return new MessageSearchHit(
+            rs.getObject("id", UUID.class),
+            rs.getObject("conversation_id", UUID.class),
+            rs.getObject("listing_id", UUID.class),
+            rs.getObject("counterpart_id", UUID.class),
+            rs.getObject("sender_id", UUID.class),
+            rs.getTimestamp("sent_at").toLocalDateTime(),
+            toHtml(markedSnippet));
+    }
+
+    private static String toHtml(String markedSnippet) {
+        return HtmlUtils.htmlEscape(markedSnippet)
+            .replace(MARK_START, "<mark>")
+            .replace(MARK_END, "</mark>");
+    }
+
+    // Rough equivalent of websearch syntax for the fallback: quotes are dropped, excluded
+    // (-term) and "or" tokens ignored, all remaining terms must match.
+    private static List<String> terms(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).replace("\"", " ").split("\\s+"))
+            .filter(term -> !term.isBlank() && !term.startsWith("-") && !term.equals("or"))
+            .distinct()
+            .toList();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String markTerms(String content, List<String> terms) {
+        Pattern pattern = Pattern.compile(
+            String.join("|", terms.stream().map(Pattern::quote).toList()),
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        Matcher matcher = pattern.matcher(content);
+        int first = matcher.find() ? matcher.start() : 0;
+        int from = Math.max(0, first - SNIPPET_CONTEXT);
+        int to = Math.min(content.length(), first + SNIPPET_CONTEXT * 2);
+        String window = content.substring(from, to);
+
+        List<String> parts = new ArrayList<>();
+        Matcher windowMatcher = pattern.matcher(window);
+        int last = 0;
+        while (windowMatcher.find()) {
+            parts.add(window.substring(last, windowMatcher.start()));
+            parts.add(MARK_START + windowMatcher.group() + MARK_END);
+            last = windowMatcher.end();
+        }
+        parts.add(window.substring(last));
+        return (from > 0 ? "\u2026" : "") + String.join("", parts) + (to < content.length() ? "\u2026" : "");
+    }
+}
@@ -0,0 +1,19 @@
+package com.bookcycle.communication.infrastructure.presence;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-node transport: there are no other nodes to inform.
+ */
+public class LocalPresenceTransport implements PresenceTransport {
+
+    @Override
+    public void publish(PresenceUpdate update) {
+        // Nothing to propagate.
+    }
+
+    @Override
+    public void subscribe(Consumer<PresenceUpdate> listener) {
+        // No remote updates will arrive.
+    }
+}
@@ -0,0 +1,18 @@
+package com.bookcycle.communication.infrastructure.presence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PresenceConfig {
+
+    /**
+     * Replaced by declaring another PresenceTransport bean (e.g. Redis pub/sub) for clusters.
+     */
+    @Bean
+    @ConditionalOnMissingBean(PresenceTransport.class)
+    public PresenceTransport presenceTransport() {
+        return new LocalPresenceTransport();
+    }
+}
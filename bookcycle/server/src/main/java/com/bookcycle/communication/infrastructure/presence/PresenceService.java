@@ -0,0 +1,170 @@
+package com.bookcycle.communication.infrastructure.presence;
+
+import com.bookcycle.communication.infrastructure.realtime.ChatDestinations;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Online and typing state held in memory with a TTL; nothing is written to the database.
+ *
+ * - Local changes are pushed to /topic/conversations.{id}.presence and handed to the transport
+ * - Remote changes (other nodes) only update the local maps, which answer presence queries
+ * - Expired online and typing state is pushed as OFFLINE and IDLE by every node holding it;
+ *   clients treat repeated updates as idempotent
+ * - Repeated typing signals within half the TTL are not re-broadcast
+ */
+@Component
+public class PresenceService {
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceTransport transport;
+    private final Duration onlineTtl;
+    private final Duration typingTtl;
+
+    private final Map<UUID, Instant> onlineUntil = new ConcurrentHashMap<>();
+    // Conversations the user was announced in, to address the OFFLINE update on expiry.
+    private final Map<UUID, Set<UUID>> presentIn = new ConcurrentHashMap<>();
+    private final Map<TypingKey, Instant> typingUntil = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> localSessions = new ConcurrentHashMap<>();
+
+    public PresenceService(
+            SimpMessagingTemplate messagingTemplate,
+            PresenceTransport transport,
+            @Value("${app.chat.presence.online-ttl:PT90S}") Duration onlineTtl,
+            @Value("${app.chat.presence.typing-ttl:PT6S}") Duration typingTtl) {
+        this.messagingTemplate = messagingTemplate;
+        this.transport = transport;
+        this.onlineTtl = onlineTtl;
+        this.typingTtl = typingTtl;
+        transport.subscribe(this::apply);
+    }
+
+    /**
+     * A session of the user subscribed to a conversation topic.
+     */
+    public void joined(String sessionId, UUID conversationId, UUID userId) {
+        localSessions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        announce(new PresenceUpdate(PresenceUpdate.Kind.ONLINE, conversationId, userId, Instant.now().plus(onlineTtl)));
+    }
+
+    /**
+     * A session closed. The user goes offline once the last local session is gone.
+     */
+    public void left(String sessionId, UUID userId, Collection<UUID> conversationIds) {
+        Set<String> remaining = localSessions.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        if (remaining != null) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (UUID conversationId : conversationIds) {
+            announce(new PresenceUpdate(PresenceUpdate.Kind.OFFLINE, conversationId, userId, now));
+        }
+    }
+
+    /**
+     * Keeps the user online without re-broadcasting; clients call this well within the online TTL.
+     */
+    public void heartbeat(UUID userId) {
+        Instant expiresAt = Instant.now().plus(onlineTtl);
+        onlineUntil.put(userId, expiresAt);
+        transport.publish(new PresenceUpdate(PresenceUpdate.Kind.ONLINE, null, userId, expiresAt));
+    }
+
+    public void typing(UUID conversationId, UUID userId, boolean typing) {
+        TypingKey key = new TypingKey(conversationId, userId);
+        Instant now = Instant.now();
+        if (!typing) {
+            if (typingUntil.remove(key) != null) {
+                announce(new PresenceUpdate(PresenceUpdate.Kind.IDLE, conversationId, userId, now));
+            }
+            return;
+        }
+        Instant previous = typingUntil.get(key);
+        if (previous != null && previous.isAfter(now.plus(typingTtl.dividedBy(2)))) {
+            return;
+        }
+        announce(new PresenceUpdate(PresenceUpdate.Kind.TYPING, conversationId, userId, now.plus(typingTtl)));
+    }
+
+    public boolean isOnline(UUID userId) {
+        Instant until = onlineUntil.get(userId);
+        return until != null && until.isAfter(Instant.now());
+    }
+
+    public boolean isTyping(UUID conversationId, UUID userId) {
+        Instant until = typingUntil.get(new TypingKey(conversationId, userId));
+        return until != null && until.isAfter(Instant.now());
+    }
+
+    /**
+     * Users with an open local session stay online, on every node; everything else expires
+     * and is pushed to the conversations it was shown in.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.presence.sweep-interval:PT30S}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        for (UUID userId : localSessions.keySet()) {
+            Instant expiresAt = now.plus(onlineTtl);
+            onlineUntil.put(userId, expiresAt);
+            transport.publish(new PresenceUpdate(PresenceUpdate.Kind.ONLINE, null, userId, expiresAt));
+        }
+        onlineUntil.forEach((userId, until) -> {
+            if (until.isBefore(now) && onlineUntil.remove(userId, until)) {
+                Set<UUID> conversationIds = presentIn.remove(userId);
+                if (conversationIds != null) {
+                    conversationIds.forEach(conversationId ->
+                        push(new PresenceUpdate(PresenceUpdate.Kind.OFFLINE, conversationId, userId, now)));
+                }
+            }
+        });
+        typingUntil.forEach((key, until) -> {
+            if (until.isBefore(now) && typingUntil.remove(key, until)) {
+                push(new PresenceUpdate(PresenceUpdate.Kind.IDLE, key.conversationId(), key.userId(), now));
+            }
+        });
+    }
+
+    private void announce(PresenceUpdate update) {
+        apply(update);
+        transport.publish(update);
+        push(update);
+    }
+
+    private void push(PresenceUpdate update) {
+        messagingTemplate.convertAndSend(ChatDestinations.presence(update.conversationId()), update);
+    }
+
+    private void apply(PresenceUpdate update) {
+        switch (update.kind()) {
+            case ONLINE -> {
+                onlineUntil.merge(update.userId(), update.expiresAt(),
+                    (current, incoming) -> incoming.isAfter(current) ? incoming : current);
+                if (update.conversationId() != null) {
+                    presentIn.computeIfAbsent(update.userId(), id -> ConcurrentHashMap.newKeySet())
+                        .add(update.conversationId());
+                }
+            }
+            case OFFLINE -> {
+                onlineUntil.remove(update.userId());
+                presentIn.remove(update.userId());
+                typingUntil.remove(new TypingKey(update.conversationId(), update.userId()));
+            }
+            case TYPING -> typingUntil.put(new TypingKey(update.conversationId(), update.userId()), update.expiresAt());
+            case IDLE -> typingUntil.remove(new TypingKey(update.conversationId(), update.userId()));
+        }
+    }
+
+    private record TypingKey(UUID conversationId, UUID userId) {
+    }
+}
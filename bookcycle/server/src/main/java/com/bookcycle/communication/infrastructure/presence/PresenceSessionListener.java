@@ -0,0 +1,56 @@
+package com.bookcycle.communication.infrastructure.presence;
+
+import com.bookcycle.communication.infrastructure.realtime.ChatDestinations;
+import com.bookcycle.communication.infrastructure.realtime.ConversationSubscriptionInterceptor;
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+/**
+ * Derives online/offline from STOMP session lifecycle. Subscribe events are only published
+ * after the subscription passed {@link ConversationSubscriptionInterceptor}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceSessionListener {
+    private final PresenceService presenceService;
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        UUID userId = userId(event.getUser());
+        if (userId == null) {
+            return;
+        }
+        ChatDestinations.conversationId(accessor.getDestination())
+            .ifPresent(conversationId -> presenceService.joined(accessor.getSessionId(), conversationId, userId));
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        UUID userId = userId(event.getUser());
+        if (userId == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        List<UUID> conversationIds = List.copyOf(ConversationSubscriptionInterceptor.subscribedConversations(accessor));
+        presenceService.left(event.getSessionId(), userId, conversationIds);
+    }
+
+    private UUID userId(Principal principal) {
+        if (principal == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(principal.getName());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookcycle.communication.infrastructure.presence;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates presence changes between server nodes so every node can answer presence
+ * queries. Client push is done by the originating node through the STOMP broker.
+ */
+public interface PresenceTransport {
+    void publish(PresenceUpdate update);
+
+    void subscribe(Consumer<PresenceUpdate> listener);
+}
@@ -0,0 +1,16 @@
+package com.bookcycle.communication.infrastructure.presence;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ephemeral presence change; never persisted.
+ */
+public record PresenceUpdate(Kind kind, UUID conversationId, UUID userId, Instant expiresAt) {
+    public enum Kind {
+        ONLINE,
+        OFFLINE,
+        TYPING,
+        IDLE
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookcycle.communication.infrastructure.realtime;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * STOMP destinations of the chat push channel.
+ * Dots instead of slashes keep the names valid for external brokers (RabbitMQ, ActiveMQ).
+ */
+public final class ChatDestinations {
+    public static final String TOPIC_PREFIX = "/topic";
+    public static final String APPLICATION_PREFIX = "/app";
+
+    private static final String CONVERSATION_PREFIX = TOPIC_PREFIX + "/conversations.";
+    private static final String CONVERSATION_COMMAND_PREFIX = APPLICATION_PREFIX + "/conversations.";
+
+    private ChatDestinations() {
+    }
+
+    public static String messages(UUID conversationId) {
+        return CONVERSATION_PREFIX + conversationId + ".messages";
+    }
+
+    public static String receipts(UUID conversationId) {
+        return CONVERSATION_PREFIX + conversationId + ".receipts";
+    }
+
+    public static String presence(UUID conversationId) {
+        return CONVERSATION_PREFIX + conversationId + ".presence";
+    }
+
+    public static Optional<UUID> conversationId(String destination) {
+        return parseConversationId(destination, CONVERSATION_PREFIX);
+    }
+
+    /**
+     * Client frames may only address the application; topics are written by the server alone.
+     */
+    public static boolean isApplicationDestination(String destination) {
+        return destination != null && destination.startsWith(APPLICATION_PREFIX + "/");
+    }
+
+    public static boolean isConversationCommand(String destination) {
+        return destination != null && destination.startsWith(CONVERSATION_COMMAND_PREFIX);
+    }
+
+    /**
+     * Conversation addressed by a client command such as /app/conversations.{id}.typing.
+     */
+    public static Optional<UUID> commandConversationId(String destination) {
+        return parseConversationId(destination, CONVERSATION_COMMAND_PREFIX);
+    }
+
+    private static Optional<UUID> parseConversationId(String destination, String prefix) {
+        if (destination == null || !destination.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        String remainder = destination.substring(prefix.length());
+        int separator = remainder.indexOf('.');
+        String rawId = separator < 0 ? remainder : remainder.substring(0, separator);
+        try {
+            return Optional.of(UUID.fromString(rawId));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookcycle.communication.infrastructure.realtime;
+
+import com.bookcycle.communication.application.event.MessageSentEvent;
+import com.bookcycle.communication.application.event.ReadReceiptEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes committed chat messages and read receipts to the conversation topics.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMessageBroadcaster {
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        messagingTemplate.convertAndSend(ChatDestinations.messages(event.conversationId()), event.message());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReadReceipt(ReadReceiptEvent event) {
+        messagingTemplate.convertAndSend(ChatDestinations.receipts(event.receipt().getConversationId()), event.receipt());
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookcycle.communication.infrastructure.realtime;
+
+import com.bookcycle.communication.infrastructure.persistence.ConversationRepository;
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Only conversation participants may subscribe to a conversation topic.
+ * The principal is the Keycloak subject established during the WebSocket handshake.
+ * Clients may only SEND to /app destinations, never straight to a topic, so nobody can push
+ * messages, receipts or presence events past the server. Commands to /app/conversations.{id}.*
+ * are accepted only for conversations the session already subscribed to, so they need no
+ * further database lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConversationSubscriptionInterceptor implements ChannelInterceptor {
+    public static final String SUBSCRIBED_CONVERSATIONS = "chat.subscribedConversations";
+
+    private final ConversationRepository conversationRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.SEND) {
+            checkCommand(accessor);
+            return message;
+        }
+        if (accessor.getCommand() != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+
+        UUID conversationId = ChatDestinations.conversationId(accessor.getDestination())
+            .orElseThrow(() -> new AccessDeniedException("Unknown destination: " + accessor.getDestination()));
+        UUID userId = resolveUserId(accessor.getUser());
+
+        if (!conversationRepository.isParticipant(conversationId, userId)) {
+            throw new AccessDeniedException("Not a participant of conversation " + conversationId);
+        }
+        subscribedConversations(accessor).add(conversationId);
+        return message;
+    }
+
+    /**
+     * Conversations the session has been authorised for; empty for sessions without attributes.
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<UUID> subscribedConversations(SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null) {
+            return ConcurrentHashMap.newKeySet();
+        }
+        return (Set<UUID>) attributes.computeIfAbsent(SUBSCRIBED_CONVERSATIONS, key -> ConcurrentHashMap.newKeySet());
+    }
+
+    private void checkCommand(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (!ChatDestinations.isApplicationDestination(destination)) {
+            throw new AccessDeniedException("Sending to " + destination + " is not allowed");
+        }
+        if (!ChatDestinations.isConversationCommand(destination)) {
+            return;
+        }
+        UUID conversationId = ChatDestinations.commandConversationId(destination)
+            .orElseThrow(() -> new AccessDeniedException("Unknown destination: " + destination));
+        if (!subscribedConversations(accessor).contains(conversationId)) {
+            throw new AccessDeniedException("Not subscribed to conversation " + conversationId);
+        }
+    }
+
+    private UUID resolveUserId(Principal principal) {
+        if (principal == null) {
+            throw new AccessDeniedException("Authentication required");
+        }
+        try {
+            return UUID.fromString(principal.getName());
+        } catch (IllegalArgumentException ex) {
+            throw new AccessDeniedException("Unsupported principal: " + principal.getName());
+        }
+    }
+}
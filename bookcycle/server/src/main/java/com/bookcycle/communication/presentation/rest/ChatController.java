@@ -2,15 +2,25 @@ package com.bookcycle.communication.presentation.rest;
 
 import com.bookcycle.communication.application.dto.ConversationResponse;
 import com.bookcycle.communication.application.dto.CreateConversationRequest;
+import com.bookcycle.communication.application.dto.InboxEntryResponse;
 import com.bookcycle.communication.application.dto.MessageResponse;
+import com.bookcycle.communication.application.dto.MessageSearchHitResponse;
+import com.bookcycle.communication.application.dto.ReadReceiptRequest;
 import com.bookcycle.communication.application.dto.SendMessageRequest;
 import com.bookcycle.communication.application.service.ChatApplicationService;
+import com.bookcycle.communication.domain.model.MessageCursor;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -32,9 +42,49 @@ public class ChatController {
         return ResponseEntity.ok(chatService.getConversations(userId));
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<Page<InboxEntryResponse>> inbox(
+            @RequestParam UUID userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(chatService.getInbox(userId, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Full-text search over the signed-in user's own conversations; the user is taken from
+     * the JWT. Snippets are HTML-escaped with matches wrapped in &lt;mark&gt;.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Slice<MessageSearchHitResponse>> search(
+            Authentication authentication,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID userId = UUID.fromString(authentication.getName());
+        return ResponseEntity.ok(chatService.searchMessages(userId, query, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Read receipt. Idempotent: repeated or out-of-order receipts never move the cursor back.
+     */
+    @PostMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(@PathVariable UUID id, @Valid @RequestBody ReadReceiptRequest request) {
+        chatService.markRead(id, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Without a cursor the latest page is returned. before/after page by message id,
+     * since returns messages newer than the given timestamp (incremental polling).
+     */
     @GetMapping("/{id}/messages")
-    public ResponseEntity<List<MessageResponse>> messages(@PathVariable UUID id) {
-        return ResponseEntity.ok(chatService.getMessages(id));
+    public ResponseEntity<List<MessageResponse>> messages(
+            @PathVariable UUID id,
+            @RequestParam(required = false) UUID before,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(chatService.getMessages(id, MessageCursor.of(before, after, since), limit));
     }
 
     @PostMapping("/{id}/messages")
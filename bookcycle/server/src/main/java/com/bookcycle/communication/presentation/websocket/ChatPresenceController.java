@@ -0,0 +1,33 @@
+package com.bookcycle.communication.presentation.websocket;
+
+import com.bookcycle.communication.application.dto.TypingRequest;
+import com.bookcycle.communication.infrastructure.presence.PresenceService;
+import java.security.Principal;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+/**
+ * User Story: US-004 Chat (typing indicators and presence over STOMP)
+ *
+ * - /app/conversations.{id}.typing: start/stop typing
+ * - /app/presence.heartbeat: keep the user online
+ */
+@Controller
+@RequiredArgsConstructor
+public class ChatPresenceController {
+    private final PresenceService presenceService;
+
+    @MessageMapping("conversations.{conversationId}.typing")
+    public void typing(@DestinationVariable UUID conversationId, @Payload TypingRequest request, Principal principal) {
+        presenceService.typing(conversationId, UUID.fromString(principal.getName()), request.isTyping());
+    }
+
+    @MessageMapping("presence.heartbeat")
+    public void heartbeat(Principal principal) {
+        presenceService.heartbeat(UUID.fromString(principal.getName()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookcycle.marketplace.application.event;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that made a listing visible; listeners that act on the
+ * listing should run after commit.
+ */
+public record ListingPublishedEvent(UUID listingId, UUID sellerId) {
+}
@@ -0,0 +1,8 @@
+package com.bookcycle.marketplace.application.event;
+
+/**
+ * Published by the image processing stage after the perceptual hash of a stored image was
+ * committed.
+ */
+public record PhotoHashRecordedEvent(String fileName) {
+}
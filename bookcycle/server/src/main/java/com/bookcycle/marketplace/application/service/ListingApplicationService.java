@@ -4,6 +4,7 @@ import com.bookcycle.marketplace.application.dto.CreateListingRequest;
 import com.bookcycle.marketplace.application.dto.ListingResponse;
 import com.bookcycle.marketplace.application.dto.ListingSearchCriteria;
 import com.bookcycle.marketplace.application.dto.UpdateListingRequest;
+import com.bookcycle.marketplace.application.event.ListingPublishedEvent;
 import com.bookcycle.marketplace.domain.model.BookItem;
 import com.bookcycle.marketplace.domain.model.Listing;
 import com.bookcycle.marketplace.domain.service.ListingService;
@@ -11,6 +12,7 @@ import com.bookcycle.shared.domain.model.Isbn;
 import com.bookcycle.shared.domain.model.Location;
 import com.bookcycle.shared.domain.model.Money;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ListingApplicationService {
     private final ListingService listingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ListingResponse createListing(CreateListingRequest request) {
@@ -86,7 +89,9 @@ public class ListingApplicationService {
 
     @Transactional
     public ListingResponse publishListing(java.util.UUID listingId) {
-        return toResponse(listingService.publish(listingId));
+        Listing listing = listingService.publish(listingId);
+        eventPublisher.publishEvent(new ListingPublishedEvent(listing.getId(), listing.getSellerId()));
+        return toResponse(listing);
     }
 
     @Transactional
@@ -1,13 +1,28 @@
 package com.bookcycle.marketplace.application.service;
 
+import com.bookcycle.marketplace.domain.model.ImageRendition;
+import com.bookcycle.marketplace.domain.service.UploadedImageService;
+import com.bookcycle.marketplace.infrastructure.imagehash.ImageHashIndex;
+import com.bookcycle.marketplace.infrastructure.imaging.ListingImageProcessor;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HexFormat;
 import java.util.Locale;
-import java.util.UUID;
+import java.util.Map;
+import java.util.regex.Pattern;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -15,20 +30,51 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * Content-addressed storage of listing images. An upload is named by the SHA-256 of its bytes
+ * and stored as {@code ab/cd/<sha256><ext>}, so uploading the same photo again (e.g. when a
+ * listing is edited) returns the existing file instead of a copy. The extension follows from
+ * the format detected in the bytes, never from the client's file name, so the same content
+ * always maps to the same file. Files no photo references are removed by
+ * ListingImageCleanupJob after a grace period.
+ *
+ * <p>Uploads from before content addressing keep their flat {@code <uuid><ext>} names.
+ */
 @Service
 public class ListingImageStorageService {
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]+)?");
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final String INCOMING_DIRECTORY = ".incoming";
+    private static final String LEGACY_REGISTERED_MARKER = ".legacy-registered";
+    // Serializes storing and removing the same file within this instance; storage is local.
+    private static final int LOCK_STRIPES = 64;
 
     private final Path storageDirectory;
+    private final Path incomingDirectory;
+    private final ListingImageProcessor imageProcessor;
+    private final UploadedImageService uploadedImageService;
+    private final ImageHashIndex imageHashIndex;
+    private final Object[] locks = new Object[LOCK_STRIPES];
 
     public ListingImageStorageService(
-            @Value("${app.uploads.listing-dir:/tmp/bookcycle/uploads/listings}") String storageDir) {
+            @Value("${app.uploads.listing-dir:/tmp/bookcycle/uploads/listings}") String storageDir,
+            ListingImageProcessor imageProcessor,
+            UploadedImageService uploadedImageService,
+            ImageHashIndex imageHashIndex) {
         this.storageDirectory = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.incomingDirectory = storageDirectory.resolve(INCOMING_DIRECTORY);
+        this.imageProcessor = imageProcessor;
+        this.uploadedImageService = uploadedImageService;
+        this.imageHashIndex = imageHashIndex;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
     }
 
     @PostConstruct
     void initializeStorage() {
         try {
-            Files.createDirectories(storageDirectory);
+            Files.createDirectories(incomingDirectory);
         } catch (IOException ex) {
             throw new IllegalStateException("Could not initialize listing image storage directory", ex);
         }
@@ -44,29 +90,41 @@ public class ListingImageStorageService {
             throw new IllegalArgumentException("Only image uploads are supported.");
         }
 
-        String extension = extractExtension(file.getOriginalFilename());
-        String fileName = UUID.randomUUID() + extension;
-        Path destination = storageDirectory.resolve(fileName).normalize();
-
-        if (!destination.startsWith(storageDirectory)) {
-            throw new IllegalArgumentException("Invalid file destination.");
-        }
-
+        Path temp = null;
         try {
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
+            // Hashed while it is written, so the upload is read exactly once.
+            temp = Files.createTempFile(incomingDirectory, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long sizeBytes;
+            try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+                sizeBytes = Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String fileName = HexFormat.of().formatHex(digest.digest()) + detectExtension(temp);
+            Path destination = resolve(fileName);
+
+            boolean created;
+            synchronized (lockFor(fileName)) {
+                created = moveIfAbsent(temp, destination);
+                uploadedImageService.register(fileName, sizeBytes);
+            }
+            if (created) {
+                imageProcessor.submit(fileName, destination, renditionTargets(fileName));
+            }
+            return new StoredImage(fileName, resolveMediaType(fileName));
         } catch (IOException ex) {
             throw new IllegalStateException("Could not store uploaded image.", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        } finally {
+            deleteQuietly(temp);
         }
-
-        return new StoredImage(fileName, resolveMediaType(fileName));
     }
 
     public Resource loadAsResource(String fileName) {
-        String safeFileName = Paths.get(fileName).getFileName().toString();
-        Path source = storageDirectory.resolve(safeFileName).normalize();
+        Path source = resolve(fileName);
 
-        if (!source.startsWith(storageDirectory) || !Files.exists(source)) {
-            throw new IllegalArgumentException("Image not found: " + safeFileName);
+        if (!Files.exists(source)) {
+            throw new IllegalArgumentException("Image not found: " + source.getFileName());
         }
 
         try {
@@ -76,9 +134,30 @@ public class ListingImageStorageService {
         }
     }
 
+    /**
+     * The requested rendition of an uploaded image. Until it has been generated the original
+     * is returned and generation is queued, which also covers images stored before renditions
+     * existed.
+     */
+    public LoadedImage loadImage(String fileName, ImageRendition rendition) {
+        String safeFileName = safeFileName(fileName);
+        Resource original = loadAsResource(safeFileName);
+        if (rendition != ImageRendition.ORIGINAL) {
+            Path renditionPath = renditionPath(safeFileName, rendition);
+            if (Files.exists(renditionPath)) {
+                try {
+                    return new LoadedImage(new UrlResource(renditionPath.toUri()), MediaType.IMAGE_JPEG, rendition);
+                } catch (IOException ex) {
+                    throw new IllegalStateException("Could not read image rendition.", ex);
+                }
+            }
+            imageProcessor.submit(safeFileName, resolve(safeFileName), renditionTargets(safeFileName));
+        }
+        return new LoadedImage(original, resolveMediaType(safeFileName), ImageRendition.ORIGINAL);
+    }
+
     public MediaType resolveMediaType(String fileName) {
-        String safeFileName = Paths.get(fileName).getFileName().toString();
-        Path source = storageDirectory.resolve(safeFileName).normalize();
+        Path source = resolve(fileName);
         try {
             String detected = Files.probeContentType(source);
             if (detected != null && !detected.isBlank()) {
@@ -90,21 +169,170 @@ public class ListingImageStorageService {
         return MediaType.APPLICATION_OCTET_STREAM;
     }
 
-    private String extractExtension(String originalFilename) {
-        if (originalFilename == null || originalFilename.isBlank()) {
-            return ".jpg";
+    /**
+     * Removes an image with its renditions if no photo references it and it was not uploaded
+     * again since the cutoff.
+     */
+    public boolean deleteIfUnreferenced(String fileName, LocalDateTime cutoff) {
+        synchronized (lockFor(fileName)) {
+            if (!uploadedImageService.forgetIfUnreferenced(fileName, cutoff)) {
+                return false;
+            }
+            imageHashIndex.remove(fileName);
+            deleteQuietly(resolve(fileName));
+            renditionTargets(fileName).values().forEach(ListingImageStorageService::deleteQuietly);
+            return true;
         }
-        int idx = originalFilename.lastIndexOf('.');
-        if (idx < 0 || idx == originalFilename.length() - 1) {
-            return ".jpg";
+    }
+
+    /**
+     * Registers flat uploads stored before images were tracked, so the cleanup also covers
+     * them. Runs once per storage directory.
+     */
+    public void registerLegacyUploads() {
+        Path marker = storageDirectory.resolve(LEGACY_REGISTERED_MARKER);
+        if (Files.exists(marker)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDirectory, Files::isRegularFile)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.startsWith(".") && !isRendition(fileName)) {
+                    LocalDateTime modifiedAt = LocalDateTime.ofInstant(
+                        Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+                    uploadedImageService.registerExisting(fileName, Files.size(file), modifiedAt);
+                }
+            }
+            Files.createFile(marker);
+        } catch (FileAlreadyExistsException ignored) {
+            // Registered concurrently.
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not register existing listing images.", ex);
+        }
+    }
+
+    private Path resolve(String fileName) {
+        String safeFileName = safeFileName(fileName);
+        Path path = CONTENT_ADDRESSED.matcher(safeFileName).matches()
+            ? storageDirectory.resolve(safeFileName.substring(0, 2)).resolve(safeFileName.substring(2, 4)).resolve(safeFileName)
+            : storageDirectory.resolve(safeFileName);
+        path = path.normalize();
+        if (!path.startsWith(storageDirectory) || path.equals(storageDirectory)) {
+            throw new IllegalArgumentException("Invalid image file name.");
+        }
+        return path;
+    }
+
+    private static String safeFileName(String fileName) {
+        Path name = Paths.get(fileName).getFileName();
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid image file name.");
+        }
+        return name.toString();
+    }
+
+    private static boolean moveIfAbsent(Path source, Path destination) throws IOException {
+        if (Files.exists(destination)) {
+            return false;
+        }
+        Files.createDirectories(destination.getParent());
+        try {
+            Files.move(source, destination, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException ex) {
+            return false;
         }
-        String extension = originalFilename.substring(idx).toLowerCase(Locale.ROOT);
-        if (extension.length() > 10) {
+    }
+
+    private Object lockFor(String fileName) {
+        return locks[Math.floorMod(fileName.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static boolean isRendition(String fileName) {
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (fileName.endsWith("-" + rendition.getParameter() + ".jpg")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // An unreferenced leftover file is harmless.
+        }
+    }
+
+    private Map<ImageRendition, Path> renditionTargets(String fileName) {
+        Map<ImageRendition, Path> targets = new EnumMap<>(ImageRendition.class);
+        targets.put(ImageRendition.THUMB, renditionPath(fileName, ImageRendition.THUMB));
+        targets.put(ImageRendition.MEDIUM, renditionPath(fileName, ImageRendition.MEDIUM));
+        return targets;
+    }
+
+    // Renditions sit next to the original as <name>-<size>.jpg.
+    private Path renditionPath(String fileName, ImageRendition rendition) {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return resolve(fileName).resolveSibling(baseName + "-" + rendition.getParameter() + ".jpg");
+    }
+
+    /**
+     * Extension for the image format recognized from the file's leading bytes; none when the
+     * format is unknown.
+     */
+    private static String detectExtension(Path file) throws IOException {
+        byte[] header = new byte[SIGNATURE_LENGTH];
+        int length;
+        try (InputStream input = Files.newInputStream(file)) {
+            length = input.readNBytes(header, 0, SIGNATURE_LENGTH);
+        }
+        if (length >= 3 && (header[0] & 0xff) == 0xff && (header[1] & 0xff) == 0xd8 && (header[2] & 0xff) == 0xff) {
             return ".jpg";
         }
-        return extension;
+        if (length >= 8 && (header[0] & 0xff) == 0x89 && startsWith(header, 1, "PNG")) {
+            return ".png";
+        }
+        if (length >= 6 && startsWith(header, 0, "GIF8")) {
+            return ".gif";
+        }
+        if (length >= 12 && startsWith(header, 0, "RIFF") && startsWith(header, 8, "WEBP")) {
+            return ".webp";
+        }
+        if (length >= 12 && startsWith(header, 4, "ftyp")) {
+            if (startsWith(header, 8, "avif")) {
+                return ".avif";
+            }
+            if (startsWith(header, 8, "heic") || startsWith(header, 8, "heix") || startsWith(header, 8, "mif1")) {
+                return ".heic";
+            }
+        }
+        if (length >= 2 && startsWith(header, 0, "BM")) {
+            return ".bmp";
+        }
+        return "";
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            if (bytes[offset + i] != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public record StoredImage(String fileName, MediaType mediaType) {
     }
+
+    /**
+     * @param rendition the rendition actually returned, ORIGINAL while the requested one is pending
+     */
+    public record LoadedImage(Resource resource, MediaType mediaType, ImageRendition rendition) {
+    }
 }
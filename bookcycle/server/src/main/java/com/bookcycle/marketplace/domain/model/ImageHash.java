@@ -0,0 +1,50 @@
+package com.bookcycle.marketplace.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Perceptual hash of an uploaded listing image, keyed by its stored file name.
+ */
+@Entity
+@Table(schema = "marketplace", name = "image_hashes")
+public class ImageHash {
+    @Id
+    @Column(name = "file_name", length = 100)
+    private String fileName;
+
+    @Column(name = "dhash", nullable = false)
+    private long dhash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected ImageHash() {
+        // JPA
+    }
+
+    private ImageHash(String fileName, long dhash) {
+        this.fileName = fileName;
+        this.dhash = dhash;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static ImageHash of(String fileName, long dhash) {
+        return new ImageHash(fileName, dhash);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getDhash() {
+        return dhash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
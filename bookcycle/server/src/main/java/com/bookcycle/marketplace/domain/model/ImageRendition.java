@@ -0,0 +1,43 @@
+package com.bookcycle.marketplace.domain.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Sizes in which uploaded listing images are served. Renditions fit into a square of
+ * {@code maxSide} pixels and are never upscaled.
+ */
+public enum ImageRendition {
+    THUMB("thumb", 320),
+    MEDIUM("medium", 1024),
+    ORIGINAL("original", 0);
+
+    private final String parameter;
+    private final int maxSide;
+
+    ImageRendition(String parameter, int maxSide) {
+        this.parameter = parameter;
+        this.maxSide = maxSide;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public int getMaxSide() {
+        return maxSide;
+    }
+
+    public static ImageRendition fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ORIGINAL;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+            .filter(rendition -> rendition.parameter.equals(normalized))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("size must be one of "
+                + Arrays.stream(values()).map(ImageRendition::getParameter).collect(Collectors.joining(", "))));
+    }
+}
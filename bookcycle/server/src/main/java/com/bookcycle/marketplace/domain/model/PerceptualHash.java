@@ -0,0 +1,53 @@
+package com.bookcycle.marketplace.domain.model;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash). The image is reduced to 9x8 cells of average luminance and
+ * each bit records whether a cell is darker than its right neighbour. Re-encoding, resizing
+ * and mild colour or contrast changes keep the hash within a few bits, so near-identical
+ * photos are found by Hamming distance.
+ */
+public final class PerceptualHash {
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+
+    private PerceptualHash() {
+    }
+
+    public static long dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[] luminance = new double[COLUMNS * ROWS];
+        int[] pixels = new int[COLUMNS * ROWS];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = y * ROWS / height;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int cell = cellRow * COLUMNS + x * COLUMNS / width;
+                luminance[cell] += 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+                pixels[cell]++;
+            }
+        }
+        for (int cell = 0; cell < luminance.length; cell++) {
+            luminance[cell] = pixels[cell] > 0 ? luminance[cell] / pixels[cell] : 0;
+        }
+
+        long hash = 0;
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS - 1; c++) {
+                hash <<= 1;
+                if (luminance[r * COLUMNS + c] < luminance[r * COLUMNS + c + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+}
@@ -14,6 +14,12 @@ import java.util.UUID;
 @Entity
 @Table(schema = "marketplace", name = "photos")
 public class Photo {
+    /**
+     * Path under which ListingImageStorageService files are served; photos pointing there
+     * remember the stored file name so they can be matched by image hash.
+     */
+    public static final String UPLOAD_PATH = "/api/v1/listings/uploads/";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -28,6 +34,10 @@ public class Photo {
     @Column(name = "is_thumbnail", nullable = false)
     private boolean thumbnail;
 
+    // Null for photos hosted elsewhere.
+    @Column(name = "file_name", length = 100)
+    private String fileName;
+
     protected Photo() {
         // JPA
     }
@@ -36,6 +46,7 @@ public class Photo {
         this.listing = listing;
         this.url = url;
         this.thumbnail = thumbnail;
+        this.fileName = uploadedFileName(url);
     }
 
     public static Photo of(Listing listing, String url, boolean thumbnail) {
@@ -54,6 +65,10 @@ public class Photo {
         return url;
     }
 
+    public String getFileName() {
+        return fileName;
+    }
+
     public boolean isThumbnail() {
         return thumbnail;
     }
@@ -61,4 +76,17 @@ public class Photo {
     public void setThumbnail(boolean thumbnail) {
         this.thumbnail = thumbnail;
     }
+
+    private static String uploadedFileName(String url) {
+        int index = url != null ? url.lastIndexOf(UPLOAD_PATH) : -1;
+        if (index < 0) {
+            return null;
+        }
+        String fileName = url.substring(index + UPLOAD_PATH.length());
+        int end = fileName.indexOf('?');
+        if (end >= 0) {
+            fileName = fileName.substring(0, end);
+        }
+        return fileName.isEmpty() || fileName.length() > 100 || fileName.contains("/") ? null : fileName;
+    }
 }
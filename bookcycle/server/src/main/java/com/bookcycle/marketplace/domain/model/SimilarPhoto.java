@@ -0,0 +1,17 @@
+package com.bookcycle.marketplace.domain.model;
+
+import java.util.UUID;
+
+/**
+ * A photo of another listing whose image hash is within the searched Hamming distance.
+ *
+ * @param fileName the photo of the listing that was searched for
+ * @param distance differing hash bits, 0 for the same or a byte-identical image
+ */
+public record SimilarPhoto(
+        String fileName,
+        UUID matchedListingId,
+        UUID matchedSellerId,
+        String matchedFileName,
+        int distance) {
+}
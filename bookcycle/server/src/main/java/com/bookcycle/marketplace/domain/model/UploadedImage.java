@@ -0,0 +1,42 @@
+package com.bookcycle.marketplace.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * An image file in listing upload storage. Uploads are content-addressed, so identical
+ * uploads share one row and one file; photos reference it by file name.
+ */
+@Entity
+@Table(schema = "marketplace", name = "uploaded_images")
+public class UploadedImage {
+    @Id
+    @Column(name = "file_name", length = 100)
+    private String fileName;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    // Last upload of this content; unreferenced files are only removed after a grace period from here.
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+
+    protected UploadedImage() {
+        // JPA
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+}
@@ -11,6 +11,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -68,6 +75,45 @@ public class ListingService {
         return repository.save(listing);
     }
 
+    @Transactional(readOnly = true)
+    public boolean exists(UUID listingId) {
+        return repository.existsById(listingId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findPublishedIdsByPhoto(String fileName) {
+        return repository.findPublishedIdsByPhoto(fileName);
+    }
+
+    /**
+     * Titles of the given listings, looked up with one query; unknown ids are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, String> findTitles(Collection<UUID> listingIds) {
+        if (listingIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, String> titles = new HashMap<>();
+        repository.findTitles(listingIds).forEach(listing -> titles.put(listing.getId(), listing.getTitle()));
+        return titles;
+    }
+
+    /**
+     * Hides all given listings with one update; returns the ids that existed. Listings
+     * already loaded in the current persistence context are not refreshed.
+     */
+    @Transactional
+    public Set<UUID> hideAll(Collection<UUID> listingIds) {
+        if (listingIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> existing = new HashSet<>(repository.findExistingIds(listingIds));
+        if (!existing.isEmpty()) {
+            repository.hideAll(existing, LocalDateTime.now());
+        }
+        return existing;
+    }
+
     @Transactional
     public void delete(UUID listingId) {
         Listing listing = getListing(listingId);
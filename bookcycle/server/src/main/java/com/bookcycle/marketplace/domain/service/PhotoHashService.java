@@ -0,0 +1,126 @@
+package com.bookcycle.marketplace.domain.service;
+
+import com.bookcycle.marketplace.domain.model.ImageHash;
+import com.bookcycle.marketplace.domain.model.PerceptualHash;
+import com.bookcycle.marketplace.domain.model.SimilarPhoto;
+import com.bookcycle.marketplace.infrastructure.imagehash.ImageHashIndex;
+import com.bookcycle.marketplace.infrastructure.persistence.ImageHashRepository;
+import com.bookcycle.marketplace.infrastructure.persistence.ListingRepository;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records a perceptual hash for every stored listing image and finds listings whose photos
+ * are near-identical, e.g. the same stock picture re-used by different sellers.
+ */
+@Service
+@RequiredArgsConstructor
+public class PhotoHashService {
+    public static final int MAX_SEARCH_DISTANCE = 20;
+
+    private final ImageHashRepository imageHashRepository;
+    private final ListingRepository listingRepository;
+    private final ImageHashIndex imageHashIndex;
+
+    @Value("${app.uploads.photo-hash.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.uploads.photo-hash.search-distance:10}")
+    private int searchDistance;
+
+    @Value("${app.uploads.photo-hash.flag-distance:4}")
+    private int flagDistance;
+
+    /**
+     * Hashes a stored image once it has been decoded by the image processing stage.
+     *
+     * @return whether a new hash was recorded
+     */
+    @Transactional
+    public boolean record(String fileName, BufferedImage image) {
+        if (!enabled || imageHashRepository.existsById(fileName)) {
+            return false;
+        }
+        long hash = PerceptualHash.dHash(image);
+        imageHashRepository.save(ImageHash.of(fileName, hash));
+        imageHashIndex.add(fileName, hash);
+        return true;
+    }
+
+    /**
+     * Photos of other listings within {@code maxDistance} bits of any photo of the listing,
+     * closest first. A null distance uses the configured default.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarPhoto> findSimilar(UUID listingId, Integer maxDistance) {
+        int distance = maxDistance != null ? maxDistance : searchDistance;
+        if (distance < 0 || distance > MAX_SEARCH_DISTANCE) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + MAX_SEARCH_DISTANCE);
+        }
+        if (!listingRepository.existsById(listingId)) {
+            throw new IllegalArgumentException("Listing not found: " + listingId);
+        }
+        return findSimilarPhotos(listingId, distance);
+    }
+
+    /**
+     * Near-identical photos on listings of other sellers, which is what auto-flagging acts on.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarPhoto> findDuplicatesOfOtherSellers(UUID listingId, UUID sellerId) {
+        if (!enabled) {
+            return List.of();
+        }
+        return findSimilarPhotos(listingId, flagDistance).stream()
+            .filter(photo -> !sellerId.equals(photo.matchedSellerId()))
+            .toList();
+    }
+
+    private List<SimilarPhoto> findSimilarPhotos(UUID listingId, int maxDistance) {
+        List<String> fileNames = listingRepository.findPhotoFileNames(listingId);
+        if (fileNames.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<ImageHashIndex.Match>> matchesByFile = new HashMap<>();
+        Map<String, Integer> closestDistance = new HashMap<>();
+        for (ImageHash hash : imageHashRepository.findAllById(fileNames)) {
+            List<ImageHashIndex.Match> matches = imageHashIndex.search(hash.getDhash(), maxDistance);
+            matchesByFile.put(hash.getFileName(), matches);
+            matches.forEach(match -> closestDistance.merge(match.fileName(), match.distance(), Math::min));
+        }
+        if (closestDistance.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<ListingRepository.PhotoRef>> refsByFile = new HashMap<>();
+        for (ListingRepository.PhotoRef ref : listingRepository.findPhotoRefs(closestDistance.keySet())) {
+            if (!listingId.equals(ref.getListingId())) {
+                refsByFile.computeIfAbsent(ref.getFileName(), key -> new ArrayList<>()).add(ref);
+            }
+        }
+
+        List<SimilarPhoto> result = new ArrayList<>();
+        matchesByFile.forEach((fileName, matches) -> {
+            for (ImageHashIndex.Match match : matches) {
+                for (ListingRepository.PhotoRef ref : refsByFile.getOrDefault(match.fileName(), List.of())) {
+                    result.add(new SimilarPhoto(
+                        fileName, ref.getListingId(), ref.getSellerId(), match.fileName(), match.distance()));
+                }
+            }
+        });
+        result.sort(Comparator.comparingInt(SimilarPhoto::distance)
+            .thenComparing(SimilarPhoto::fileName)
+            .thenComparing(SimilarPhoto::matchedFileName));
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bookcycle.marketplace.domain.service;
+
+import com.bookcycle.marketplace.infrastructure.persistence.ImageHashRepository;
+import com.bookcycle.marketplace.infrastructure.persistence.UploadedImageRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bookkeeping of files in listing upload storage. References are counted from
+ * marketplace.photos on demand rather than kept in a counter, since photos also disappear
+ * through ON DELETE CASCADE where no application code runs.
+ */
+@Service
+@RequiredArgsConstructor
+public class UploadedImageService {
+    private final UploadedImageRepository uploadedImageRepository;
+    private final ImageHashRepository imageHashRepository;
+
+    /**
+     * Records an upload; for content that is already stored this restarts its grace period.
+     */
+    @Transactional
+    public void register(String fileName, long sizeBytes) {
+        LocalDateTime now = LocalDateTime.now();
+        if (uploadedImageRepository.insertIfAbsent(fileName, sizeBytes, now) == 0) {
+            uploadedImageRepository.touch(fileName, now);
+        }
+    }
+
+    /**
+     * Records a file found in storage without touching a known one, e.g. uploads stored
+     * before they were tracked.
+     */
+    @Transactional
+    public void registerExisting(String fileName, long sizeBytes, LocalDateTime uploadedAt) {
+        uploadedImageRepository.insertIfAbsent(fileName, sizeBytes, uploadedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findUnreferenced(LocalDateTime cutoff, int limit) {
+        return uploadedImageRepository.findUnreferenced(cutoff, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Forgets an image no photo references and that was not uploaded again since the cutoff.
+     * Returns whether it was forgotten; the caller then removes the files.
+     */
+    @Transactional
+    public boolean forgetIfUnreferenced(String fileName, LocalDateTime cutoff) {
+        if (uploadedImageRepository.deleteIfUnreferenced(fileName, cutoff) == 0) {
+            return false;
+        }
+        imageHashRepository.deleteById(fileName);
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookcycle.marketplace.infrastructure.imagehash;
+
+import com.bookcycle.marketplace.infrastructure.persistence.ImageHashRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory multi-index hash table of all stored image hashes. Hashes recorded on this
+ * instance are added immediately; hashes recorded by other instances arrive with the periodic
+ * refresh, which re-reads a short overlap so rows committed late are not missed. Hashes of
+ * files deleted on another instance stay until restart; they no longer match any photo, so
+ * similarity results are unaffected.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageHashIndex {
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(5);
+
+    private final ImageHashRepository imageHashRepository;
+    private final MultiIndexHashTable table = new MultiIndexHashTable();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile LocalDateTime loadedUntil;
+
+    public record Match(String fileName, int distance) {
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.uploads.photo-hash.refresh-interval:PT1M}",
+        fixedDelayString = "${app.uploads.photo-hash.refresh-interval:PT1M}"
+    )
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = loadedUntil == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : loadedUntil.minus(REFRESH_OVERLAP);
+        List<ImageHashRepository.HashRow> rows = imageHashRepository.findCreatedSince(since);
+        lock.writeLock().lock();
+        try {
+            for (ImageHashRepository.HashRow row : rows) {
+                table.add(row.getDhash(), row.getFileName());
+            }
+            loadedUntil = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(String fileName, long hash) {
+        lock.writeLock().lock();
+        try {
+            table.add(hash, fileName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String fileName) {
+        lock.writeLock().lock();
+        try {
+            table.remove(fileName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> search(long hash, int maxDistance) {
+        if (loadedUntil == null) {
+            synchronized (this) {
+                if (loadedUntil == null) {
+                    refresh();
+                }
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return table.search(hash, maxDistance).stream()
+                .map(match -> new Match(match.fileName(), match.distance()))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return table.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.bookcycle.marketplace.infrastructure.imagehash;
+
+import com.bookcycle.marketplace.domain.model.PerceptualHash;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-index hash table over 64-bit hashes (Norouzi et al.). Each hash is split into four
+ * 16-bit chunks, each indexed in its own table. Two hashes within distance r agree on at least
+ * one chunk up to r / 4 bits, so a search only probes the buckets near each query chunk and
+ * verifies those candidates instead of scanning every hash. Removed entries are left in the
+ * chains as tombstones until they make up half the table, which is then rebuilt. Not thread-safe.
+ */
+final class MultiIndexHashTable {
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = Long.SIZE / CHUNKS;
+    private static final int BUCKETS = 1 << CHUNK_BITS;
+    private static final int NONE = -1;
+
+    record Match(String fileName, int distance) {
+    }
+
+    private long[] hashes = new long[1024];
+    private String[] fileNames = new String[1024];
+    // heads[chunk][value] is the newest entry with that chunk value, next[chunk][entry] the one before.
+    private final int[][] heads = new int[CHUNKS][BUCKETS];
+    private int[][] next = new int[CHUNKS][1024];
+    private final Map<String, Integer> entries = new HashMap<>();
+    // Slots in use, including removed ones (fileNames[entry] == null).
+    private int size;
+
+    MultiIndexHashTable() {
+        for (int[] head : heads) {
+            Arrays.fill(head, NONE);
+        }
+    }
+
+    /**
+     * Returns false if the file name is already indexed.
+     */
+    boolean add(long hash, String fileName) {
+        if (entries.putIfAbsent(fileName, size) != null) {
+            return false;
+        }
+        if (size == hashes.length) {
+            int capacity = size * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            fileNames = Arrays.copyOf(fileNames, capacity);
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                next[chunk] = Arrays.copyOf(next[chunk], capacity);
+            }
+        }
+        hashes[size] = hash;
+        fileNames[size] = fileName;
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            int value = chunk(hash, chunk);
+            next[chunk][size] = heads[chunk][value];
+            heads[chunk][value] = size;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns false if the file name is not indexed.
+     */
+    boolean remove(String fileName) {
+        Integer entry = entries.remove(fileName);
+        if (entry == null) {
+            return false;
+        }
+        fileNames[entry] = null;
+        if (entries.size() < size / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    List<Match> search(long hash, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        int chunkDistance = Math.min(CHUNK_BITS, maxDistance / CHUNKS);
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            probe(hash, maxDistance, chunkDistance, chunk, chunk(hash, chunk), 0, chunkDistance, matches);
+        }
+        return matches;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void compact() {
+        long[] liveHashes = hashes;
+        String[] liveFileNames = fileNames;
+        int slots = size;
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, entries.size())) * 2);
+        hashes = new long[capacity];
+        fileNames = new String[capacity];
+        next = new int[CHUNKS][capacity];
+        for (int[] head : heads) {
+            Arrays.fill(head, NONE);
+        }
+        entries.clear();
+        size = 0;
+        for (int entry = 0; entry < slots; entry++) {
+            if (liveFileNames[entry] != null) {
+                add(liveHashes[entry], liveFileNames[entry]);
+            }
+        }
+    }
+
+    // Visits every chunk value within `remaining` flipped bits at positions >= fromBit.
+    private void probe(long hash, int maxDistance, int chunkDistance, int chunk,
+                       int value, int fromBit, int remaining, List<Match> matches) {
+        collect(hash, maxDistance, chunkDistance, chunk, value, matches);
+        if (remaining == 0) {
+            return;
+        }
+        for (int bit = fromBit; bit < CHUNK_BITS; bit++) {
+            probe(hash, maxDistance, chunkDistance, chunk, value ^ (1 << bit), bit + 1, remaining - 1, matches);
+        }
+    }
+
+    private void collect(long hash, int maxDistance, int chunkDistance, int chunk, int value, List<Match> matches) {
+        for (int entry = heads[chunk][value]; entry != NONE; entry = next[chunk][entry]) {
+            if (fileNames[entry] == null) {
+                continue;
+            }
+            long candidate = hashes[entry];
+            int distance = PerceptualHash.distance(hash, candidate);
+            if (distance <= maxDistance && !foundInEarlierChunk(hash, candidate, chunk, chunkDistance)) {
+                matches.add(new Match(fileNames[entry], distance));
+            }
+        }
+    }
+
+    private static boolean foundInEarlierChunk(long hash, long candidate, int chunk, int chunkDistance) {
+        for (int earlier = 0; earlier < chunk; earlier++) {
+            if (Integer.bitCount(chunk(hash, earlier) ^ chunk(candidate, earlier)) <= chunkDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int chunk(long hash, int chunk) {
+        return (int) (hash >>> (chunk * CHUNK_BITS)) & (BUCKETS - 1);
+    }
+}
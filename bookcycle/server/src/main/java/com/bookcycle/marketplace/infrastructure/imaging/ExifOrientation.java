@@ -0,0 +1,121 @@
+package com.bookcycle.marketplace.infrastructure.imaging;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the EXIF orientation tag of a JPEG and applies it to decoded pixels. ImageIO ignores
+ * the tag, so without this phone photos taken in portrait come out sideways.
+ */
+final class ExifOrientation {
+    static final int NORMAL = 1;
+
+    private static final int SOI = 0xFFD8;
+    private static final int SOS = 0xFFDA;
+    private static final int EOI = 0xFFD9;
+    private static final int APP1 = 0xFFE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * Orientation 1-8 as defined by EXIF, {@link #NORMAL} for non-JPEG files or missing tags.
+     */
+    static int read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != SOI) {
+                return NORMAL;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == SOS || marker == EOI) {
+                    return NORMAL;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return NORMAL;
+                }
+                if (marker != APP1) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                // APP1 also carries XMP, so keep looking if this one is not EXIF.
+                int orientation = parse(in.readNBytes(length));
+                if (orientation != 0) {
+                    return orientation;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            return NORMAL;
+        }
+    }
+
+    static BufferedImage apply(BufferedImage image, int orientation) {
+        if (orientation <= NORMAL || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        // Maps stored pixels to display pixels; 5-8 swap width and height.
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);
+        };
+        boolean swap = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    // Returns 0 if the segment is not EXIF or has no orientation.
+    private static int parse(byte[] segment) {
+        for (int i = 0; i < EXIF_HEADER.length; i++) {
+            if (i >= segment.length || segment[i] != EXIF_HEADER[i]) {
+                return 0;
+            }
+        }
+        int tiff = EXIF_HEADER.length;
+        ByteBuffer buffer = ByteBuffer.wrap(segment);
+        if (segment[tiff] == 'I' && segment[tiff + 1] == 'I') {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (segment[tiff] != 'M' || segment[tiff + 1] != 'M') {
+            return 0;
+        }
+        if (buffer.getShort(tiff + 2) != 42) {
+            return 0;
+        }
+        int ifd = tiff + buffer.getInt(tiff + 4);
+        int entries = Short.toUnsignedInt(buffer.getShort(ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (Short.toUnsignedInt(buffer.getShort(entry)) == ORIENTATION_TAG) {
+                int orientation = Short.toUnsignedInt(buffer.getShort(entry + 8));
+                return orientation >= 1 && orientation <= 8 ? orientation : NORMAL;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,203 @@
+package com.bookcycle.marketplace.infrastructure.imaging;
+
+import com.bookcycle.marketplace.application.event.PhotoHashRecordedEvent;
+import com.bookcycle.marketplace.domain.model.ImageRendition;
+import com.bookcycle.marketplace.domain.service.PhotoHashService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background stage for uploaded listing images. Each image is decoded once, off the request
+ * thread, to record its perceptual hash and write the resized JPEG renditions.
+ *
+ * <p>The queue is bounded; when it is full or the process restarts, a missing rendition is
+ * simply requested again the next time it is served.
+ *
+ * <p>Failures are counted as bookcycle.uploads.processing.failed, tagged with the stage
+ * (decode, hash, duplicate-check, rendition).
+ */
+@Component
+public class ListingImageProcessor {
+    private static final float JPEG_QUALITY = 0.82f;
+    // Give the largest rendition twice its size to downscale from; anything beyond is subsampled while decoding.
+    private static final int DECODE_TARGET_SIZE = ImageRendition.MEDIUM.getMaxSide() * 2;
+    private static final int MAX_REMEMBERED_FAILURES = 10_000;
+
+    private final PhotoHashService photoHashService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // Files ImageIO cannot decode are served as-is instead of being retried on every request.
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    public ListingImageProcessor(
+            PhotoHashService photoHashService,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.uploads.renditions.threads:2}") int threads,
+            @Value("${app.uploads.renditions.queue-capacity:1000}") int queueCapacity) {
+        this.photoHashService = photoHashService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "listing-image-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Queues the image unless it is already queued or known to be undecodable.
+     *
+     * @param targets where to write each rendition
+     */
+    public void submit(String fileName, Path original, Map<ImageRendition, Path> targets) {
+        if (undecodable.contains(fileName) || !pending.add(fileName)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(fileName, original, targets);
+                } finally {
+                    pending.remove(fileName);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.remove(fileName);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(String fileName, Path original, Map<ImageRendition, Path> targets) {
+        BufferedImage image = decode(original);
+        if (image == null) {
+            failed("decode");
+            if (undecodable.size() >= MAX_REMEMBERED_FAILURES) {
+                undecodable.clear();
+            }
+            undecodable.add(fileName);
+            return;
+        }
+        // Renditions depend on neither the hash nor the duplicate check.
+        boolean recorded = false;
+        try {
+            recorded = photoHashService.record(fileName, image);
+        } catch (RuntimeException ex) {
+            failed("hash");
+        }
+        if (recorded) {
+            try {
+                eventPublisher.publishEvent(new PhotoHashRecordedEvent(fileName));
+            } catch (RuntimeException ex) {
+                failed("duplicate-check");
+            }
+        }
+
+        int orientation = ExifOrientation.read(original);
+        // Each rendition is scaled from the next larger one, so the expensive step runs once.
+        BufferedImage source = image;
+        for (ImageRendition rendition : new ImageRendition[] {ImageRendition.MEDIUM, ImageRendition.THUMB}) {
+            Path target = targets.get(rendition);
+            source = ImageResampler.fit(source, rendition.getMaxSide());
+            if (target != null) {
+                write(ExifOrientation.apply(source, orientation), target);
+            }
+        }
+    }
+
+    private BufferedImage decode(Path file) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int largestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, largestSide / DECODE_TARGET_SIZE);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private void write(BufferedImage image, Path target) {
+        Path temp = null;
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            // Written next to the target and moved in place, so readers never see a partial file.
+            temp = Files.createTempFile(target.getParent(), ".rendition-", ".tmp");
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            failed("rendition");
+            deleteQuietly(temp);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void failed(String stage) {
+        meterRegistry.counter("bookcycle.uploads.processing.failed", "stage", stage).increment();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // A stray temp file is never referenced by a photo.
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bookcycle.marketplace.infrastructure.persistence;
+
+import com.bookcycle.marketplace.domain.model.ImageHash;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ImageHashRepository extends JpaRepository<ImageHash, String> {
+    interface HashRow {
+        String getFileName();
+
+        long getDhash();
+    }
+
+    @Query("select h.fileName as fileName, h.dhash as dhash from ImageHash h where h.createdAt >= :since")
+    List<HashRow> findCreatedSince(@Param("since") LocalDateTime since);
+}
@@ -2,13 +2,52 @@ package com.bookcycle.marketplace.infrastructure.persistence;
 
 import com.bookcycle.marketplace.domain.model.Listing;
 import com.bookcycle.marketplace.domain.model.ListingStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ListingRepository extends JpaRepository<Listing, UUID>, JpaSpecificationExecutor<Listing> {
     long countByStatus(ListingStatus status);
     Page<Listing> findBySellerId(UUID sellerId, Pageable pageable);
+
+    interface PhotoRef {
+        UUID getListingId();
+        UUID getSellerId();
+        String getFileName();
+    }
+
+    @Query("select p.fileName from Photo p where p.listing.id = :listingId and p.fileName is not null")
+    List<String> findPhotoFileNames(@Param("listingId") UUID listingId);
+
+    @Query("select distinct p.listing.id from Photo p where p.fileName = :fileName "
+        + "and p.listing.status = com.bookcycle.marketplace.domain.model.ListingStatus.PUBLISHED")
+    List<UUID> findPublishedIdsByPhoto(@Param("fileName") String fileName);
+
+    @Query("select p.listing.id as listingId, p.listing.sellerId as sellerId, p.fileName as fileName "
+        + "from Photo p where p.fileName in :fileNames")
+    List<PhotoRef> findPhotoRefs(@Param("fileNames") Collection<String> fileNames);
+
+    interface ListingTitle {
+        UUID getId();
+        String getTitle();
+    }
+
+    @Query("select l.id as id, l.title as title from Listing l where l.id in :ids")
+    List<ListingTitle> findTitles(@Param("ids") Collection<UUID> ids);
+
+    @Query("select l.id from Listing l where l.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Listing l set l.status = com.bookcycle.marketplace.domain.model.ListingStatus.HIDDEN, "
+        + "l.updatedAt = :updatedAt where l.id in :ids")
+    int hideAll(@Param("ids") Collection<UUID> ids, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,40 @@
+package com.bookcycle.marketplace.infrastructure.persistence;
+
+import com.bookcycle.marketplace.domain.model.UploadedImage;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UploadedImageRepository extends JpaRepository<UploadedImage, String> {
+    /**
+     * ON CONFLICT DO NOTHING is understood by PostgreSQL and by H2 in PostgreSQL mode.
+     */
+    @Modifying
+    @Query(value = "insert into marketplace.uploaded_images (file_name, size_bytes, uploaded_at) "
+        + "values (:fileName, :sizeBytes, :uploadedAt) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(
+        @Param("fileName") String fileName,
+        @Param("sizeBytes") long sizeBytes,
+        @Param("uploadedAt") LocalDateTime uploadedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UploadedImage u set u.uploadedAt = :uploadedAt where u.fileName = :fileName")
+    int touch(@Param("fileName") String fileName, @Param("uploadedAt") LocalDateTime uploadedAt);
+
+    @Query("select u.fileName from UploadedImage u where u.uploadedAt < :cutoff "
+        + "and not exists (select p.id from Photo p where p.fileName = u.fileName) order by u.uploadedAt")
+    List<String> findUnreferenced(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Re-checks the references in the same statement, so a photo added since
+     * {@link #findUnreferenced} keeps the file.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UploadedImage u where u.fileName = :fileName and u.uploadedAt < :cutoff "
+        + "and not exists (select p.id from Photo p where p.fileName = u.fileName)")
+    int deleteIfUnreferenced(@Param("fileName") String fileName, @Param("cutoff") LocalDateTime cutoff);
+}
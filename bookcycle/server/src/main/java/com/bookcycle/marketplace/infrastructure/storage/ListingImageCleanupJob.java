@@ -0,0 +1,69 @@
+package com.bookcycle.marketplace.infrastructure.storage;
+
+import com.bookcycle.marketplace.application.service.ListingImageStorageService;
+import com.bookcycle.marketplace.domain.service.UploadedImageService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes uploaded listing images no photo references. The grace period leaves time between
+ * uploading an image and saving the listing that uses it.
+ */
+@Component
+public class ListingImageCleanupJob {
+    private final ListingImageStorageService storageService;
+    private final UploadedImageService uploadedImageService;
+    private final Duration gracePeriod;
+
+    @Value("${app.uploads.cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.uploads.cleanup.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.uploads.cleanup.max-files-per-run:10000}")
+    private int maxFilesPerRun;
+
+    public ListingImageCleanupJob(
+            ListingImageStorageService storageService,
+            UploadedImageService uploadedImageService,
+            @Value("${app.uploads.cleanup.grace-period:P1D}") Duration gracePeriod) {
+        this.storageService = storageService;
+        this.uploadedImageService = uploadedImageService;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            storageService.registerLegacyUploads();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.cleanup.interval:PT1H}", initialDelayString = "PT5M")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(gracePeriod);
+        int processed = 0;
+        while (processed < maxFilesPerRun) {
+            List<String> candidates = uploadedImageService.findUnreferenced(
+                cutoff, Math.min(batchSize, maxFilesPerRun - processed));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (String fileName : candidates) {
+                storageService.deleteIfUnreferenced(fileName, cutoff);
+            }
+            processed += candidates.size();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.bookcycle.marketplace.application.dto.ListingResponse;
 import com.bookcycle.marketplace.application.dto.ListingSearchCriteria;
 import com.bookcycle.marketplace.application.dto.UpdateListingRequest;
 import com.bookcycle.marketplace.application.service.ListingImageStorageService;
+import com.bookcycle.marketplace.domain.model.ImageRendition;
 import com.bookcycle.marketplace.domain.model.ListingCondition;
 import com.bookcycle.marketplace.application.service.ListingApplicationService;
 import jakarta.validation.Valid;
@@ -127,14 +128,23 @@ public class ListingController {
             ));
     }
 
+    /**
+     * Serves an uploaded image; {@code size} is thumb, medium or original (default).
+     */
     @GetMapping("/uploads/{fileName:.+}")
-    public ResponseEntity<Resource> getListingImage(@PathVariable String fileName) {
-        Resource resource = listingImageStorageService.loadAsResource(fileName);
-        MediaType mediaType = listingImageStorageService.resolveMediaType(fileName);
+    public ResponseEntity<Resource> getListingImage(
+            @PathVariable String fileName,
+            @RequestParam(required = false) String size) {
+        ImageRendition requested = ImageRendition.fromParameter(size);
+        ListingImageStorageService.LoadedImage image = listingImageStorageService.loadImage(fileName, requested);
+        // A stand-in original must not be cached under the rendition URL.
+        CacheControl cacheControl = image.rendition() == requested
+            ? CacheControl.maxAge(Duration.ofDays(7)).cachePublic()
+            : CacheControl.noCache();
         return ResponseEntity.ok()
-            .contentType(mediaType)
-            .cacheControl(CacheControl.maxAge(Duration.ofDays(7)).cachePublic())
-            .body(resource);
+            .contentType(image.mediaType())
+            .cacheControl(cacheControl)
+            .body(image.resource());
     }
 
     private Sort resolveSort(String sort) {
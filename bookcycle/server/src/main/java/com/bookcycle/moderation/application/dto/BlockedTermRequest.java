@@ -0,0 +1,22 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.model.BlockedTerm;
+import com.bookcycle.moderation.domain.model.ReportReason;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class BlockedTermRequest {
+    @NotBlank
+    @Size(max = BlockedTerm.MAX_LENGTH)
+    private String term;
+
+    @NotNull
+    private ReportReason reason;
+
+    @NotNull
+    private UUID moderatorId;
+}
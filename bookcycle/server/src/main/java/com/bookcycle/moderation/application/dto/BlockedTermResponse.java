@@ -0,0 +1,17 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.model.ReportReason;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BlockedTermResponse {
+    private UUID id;
+    private String term;
+    private ReportReason reason;
+    private UUID createdBy;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.service.ModerationService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class BulkModerationRequest {
+    @NotNull
+    private UUID moderatorId;
+    @NotEmpty
+    @Size(max = ModerationService.MAX_BULK_SIZE)
+    private List<UUID> reportIds;
+    private String note;
+}
@@ -0,0 +1,22 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.model.BulkModerationResult;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkModerationResponse {
+    private long succeeded;
+    private long failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    public static class Item {
+        private UUID reportId;
+        private BulkModerationResult.Outcome outcome;
+    }
+}
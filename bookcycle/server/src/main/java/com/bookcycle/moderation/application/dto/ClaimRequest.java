@@ -0,0 +1,14 @@
+package com.bookcycle.moderation.application.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class ClaimRequest {
+    @NotNull
+    private UUID moderatorId;
+    @Min(1)
+    private int batchSize = 10;
+}
@@ -0,0 +1,21 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.model.ModerationActionType;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ModerationActionResponse {
+    private UUID id;
+    private UUID reportId;
+    private ReportTargetType targetType;
+    private UUID targetId;
+    private ModerationActionType actionType;
+    private UUID moderatorId;
+    private String note;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.model.ReportReason;
+import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import java.time.LocalDate;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Filters of the moderation report queue; unset fields do not filter. The date range
+ * is inclusive on both ends.
+ */
+@Data
+public class ReportSearchCriteria {
+    private ReportStatus status;
+    private ReportTargetType targetType;
+    private ReportReason reason;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+}
@@ -0,0 +1,28 @@
+package com.bookcycle.moderation.application.dto;
+
+import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ReportTargetResponse {
+    private UUID id;
+    private ReportTargetType targetType;
+    private UUID targetId;
+    private ReportStatus status;
+    private int reportCount;
+    private int openReportCount;
+    private int distinctReporters;
+    private int spamCount;
+    private int inappropriateCount;
+    private int fraudCount;
+    private Double priority;
+    private LocalDateTime firstReportedAt;
+    private LocalDateTime lastReportedAt;
+    private UUID claimedBy;
+    private LocalDateTime claimExpiresAt;
+}
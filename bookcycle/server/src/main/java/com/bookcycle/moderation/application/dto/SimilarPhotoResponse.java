@@ -0,0 +1,15 @@
+package com.bookcycle.moderation.application.dto;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SimilarPhotoResponse {
+    private String fileName;
+    private UUID matchedListingId;
+    private UUID matchedSellerId;
+    private String matchedFileName;
+    private int distance;
+}
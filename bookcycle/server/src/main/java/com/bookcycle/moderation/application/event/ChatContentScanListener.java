@@ -0,0 +1,38 @@
+package com.bookcycle.moderation.application.event;
+
+import com.bookcycle.communication.application.event.MessageSentEvent;
+import com.bookcycle.moderation.domain.model.ContentScanResult;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import com.bookcycle.moderation.domain.service.ContentScanner;
+import com.bookcycle.moderation.domain.service.ModerationService;
+import com.bookcycle.moderation.infrastructure.metrics.ModerationMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Scans sent chat messages and files a report for flagged content. Runs after the send has
+ * committed, so moderation can neither delay nor roll back a message; a report that cannot
+ * be filed is counted and dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatContentScanListener {
+    private final ContentScanner contentScanner;
+    private final ModerationService moderationService;
+    private final ModerationMetrics moderationMetrics;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        ContentScanResult scan = contentScanner.scan(event.message().getContent());
+        if (scan.isClean()) {
+            return;
+        }
+        try {
+            moderationService.reportMessageAutomatically(event.message().getId(), scan);
+        } catch (RuntimeException e) {
+            moderationMetrics.automaticReportFailed(ReportTargetType.MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bookcycle.moderation.application.event;
+
+import com.bookcycle.marketplace.application.event.ListingPublishedEvent;
+import com.bookcycle.marketplace.application.event.PhotoHashRecordedEvent;
+import com.bookcycle.marketplace.domain.model.SimilarPhoto;
+import com.bookcycle.marketplace.domain.service.ListingService;
+import com.bookcycle.marketplace.domain.service.PhotoHashService;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import com.bookcycle.moderation.domain.service.ModerationService;
+import com.bookcycle.moderation.infrastructure.metrics.ModerationMetrics;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reports published listings whose photos are near-identical to another seller's listing, a
+ * common fraud pattern. Checked after the publish has committed and again once a photo's hash
+ * is recorded, since hashing runs in the background and may finish after publishing. A report
+ * that cannot be filed is counted and dropped; publishing is never affected.
+ */
+@Component
+@RequiredArgsConstructor
+public class DuplicatePhotoListener {
+    private final PhotoHashService photoHashService;
+    private final ListingService listingService;
+    private final ModerationService moderationService;
+    private final ModerationMetrics moderationMetrics;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onListingPublished(ListingPublishedEvent event) {
+        check(event.listingId(), event.sellerId());
+    }
+
+    /**
+     * Published by image processing after the hash committed, outside any transaction.
+     */
+    @EventListener
+    public void onPhotoHashRecorded(PhotoHashRecordedEvent event) {
+        for (UUID listingId : listingService.findPublishedIdsByPhoto(event.fileName())) {
+            check(listingId, listingService.getListing(listingId).getSellerId());
+        }
+    }
+
+    private void check(UUID listingId, UUID sellerId) {
+        try {
+            List<SimilarPhoto> duplicates = photoHashService.findDuplicatesOfOtherSellers(listingId, sellerId);
+            if (!duplicates.isEmpty()) {
+                moderationService.reportListingAutomatically(listingId, comment(duplicates));
+            }
+        } catch (RuntimeException e) {
+            moderationMetrics.automaticReportFailed(ReportTargetType.LISTING);
+        }
+    }
+
+    private static String comment(List<SimilarPhoto> duplicates) {
+        SimilarPhoto closest = duplicates.get(0);
+        long listings = duplicates.stream().map(SimilarPhoto::matchedListingId).distinct().count();
+        return "Photo near-identical to " + listings + " listing(s) of other sellers, closest "
+            + closest.matchedListingId() + " (distance " + closest.distance() + ")";
+    }
+}
@@ -1,15 +1,36 @@
 package com.bookcycle.moderation.application.service;
 
+import com.bookcycle.marketplace.domain.service.PhotoHashService;
+import com.bookcycle.moderation.application.dto.BlockedTermRequest;
+import com.bookcycle.moderation.application.dto.BlockedTermResponse;
+import com.bookcycle.moderation.application.dto.BulkModerationRequest;
+import com.bookcycle.moderation.application.dto.BulkModerationResponse;
+import com.bookcycle.moderation.application.dto.ClaimRequest;
+import com.bookcycle.moderation.application.dto.ModerationActionResponse;
 import com.bookcycle.moderation.application.dto.ModerationDecisionRequest;
 import com.bookcycle.moderation.application.dto.ReportRequest;
 import com.bookcycle.moderation.application.dto.ReportResponse;
+import com.bookcycle.moderation.application.dto.ReportSearchCriteria;
+import com.bookcycle.moderation.application.dto.ReportTargetResponse;
+import com.bookcycle.moderation.application.dto.SimilarPhotoResponse;
+import com.bookcycle.moderation.domain.model.BlockedTerm;
+import com.bookcycle.moderation.domain.model.BulkModerationResult;
 import com.bookcycle.moderation.domain.model.Report;
 import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTarget;
 import com.bookcycle.moderation.domain.service.ModerationService;
+import com.bookcycle.moderation.infrastructure.persistence.ModerationActionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -18,6 +39,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ModerationApplicationService {
     private final ModerationService moderationService;
+    private final PhotoHashService photoHashService;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public ReportResponse createReport(ReportRequest request) {
@@ -32,10 +55,8 @@ public class ModerationApplicationService {
     }
 
     @Transactional(readOnly = true)
-    public List<ReportResponse> listReports(ReportStatus status) {
-        return moderationService.listReports(status).stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+    public Page<ReportResponse> searchReports(ReportSearchCriteria criteria, Pageable pageable) {
+        return moderationService.searchReports(criteria, pageable).map(this::toResponse);
     }
 
     @Transactional
@@ -50,6 +71,148 @@ public class ModerationApplicationService {
         return toResponse(report);
     }
 
+    @Transactional
+    public BulkModerationResponse bulkResolve(BulkModerationRequest request) {
+        return toResponse(moderationService.bulkResolve(request.getReportIds(), request.getModeratorId(), request.getNote()));
+    }
+
+    @Transactional
+    public BulkModerationResponse bulkHide(BulkModerationRequest request) {
+        return toResponse(moderationService.bulkHide(request.getReportIds(), request.getModeratorId(), request.getNote()));
+    }
+
+    public List<SimilarPhotoResponse> findSimilarPhotos(UUID listingId, Integer maxDistance) {
+        return photoHashService.findSimilar(listingId, maxDistance).stream()
+            .map(photo -> SimilarPhotoResponse.builder()
+                .fileName(photo.fileName())
+                .matchedListingId(photo.matchedListingId())
+                .matchedSellerId(photo.matchedSellerId())
+                .matchedFileName(photo.matchedFileName())
+                .distance(photo.distance())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ModerationActionResponse> listActionsForReport(UUID reportId, UUID before, int limit) {
+        return moderationService.listActionsForReport(reportId, before, limit).stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ModerationActionResponse> listActionsByModerator(UUID moderatorId, UUID before, int limit) {
+        return moderationService.listActionsByModerator(moderatorId, before, limit).stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Audit export as NDJSON, one action per line, oldest first. The range is checked before
+     * the body is returned, so a bad request fails with 400 instead of an empty stream.
+     */
+    public StreamingResponseBody exportActions(UUID moderatorId, LocalDateTime from, LocalDateTime until) {
+        if (!from.isBefore(until)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return out -> {
+            try {
+                moderationService.exportActions(moderatorId, from, until, rows -> {
+                    try {
+                        for (ModerationActionRepository.ActionRow row : rows) {
+                            out.write(objectMapper.writeValueAsBytes(toResponse(row)));
+                            out.write('\n');
+                        }
+                        out.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReportTargetResponse> listReportTargets(ReportStatus status, Pageable pageable) {
+        return moderationService.listReportTargets(status, pageable).map(this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReportResponse> listReportsForTarget(UUID reportTargetId, Pageable pageable) {
+        return moderationService.listReportsForTarget(reportTargetId, pageable).map(this::toResponse);
+    }
+
+    @Transactional
+    public ReportTargetResponse resolveReportTarget(UUID reportTargetId, ModerationDecisionRequest request) {
+        return toResponse(moderationService.resolveReportTarget(reportTargetId, request.getModeratorId(), request.getNote()));
+    }
+
+    @Transactional
+    public ReportTargetResponse hideReportTarget(UUID reportTargetId, ModerationDecisionRequest request) {
+        return toResponse(moderationService.hideReportTarget(reportTargetId, request.getModeratorId(), request.getNote()));
+    }
+
+    @Transactional
+    public List<ReportTargetResponse> claimReportTargets(ClaimRequest request) {
+        return moderationService.claimReportTargets(request.getModeratorId(), request.getBatchSize()).stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public ReportTargetResponse releaseReportTarget(UUID reportTargetId, ModerationDecisionRequest request) {
+        return toResponse(moderationService.releaseReportTarget(reportTargetId, request.getModeratorId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BlockedTermResponse> listBlockedTerms() {
+        return moderationService.listBlockedTerms().stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public BlockedTermResponse addBlockedTerm(BlockedTermRequest request) {
+        return toResponse(moderationService.addBlockedTerm(request.getTerm(), request.getReason(), request.getModeratorId()));
+    }
+
+    @Transactional
+    public void removeBlockedTerm(UUID blockedTermId) {
+        moderationService.removeBlockedTerm(blockedTermId);
+    }
+
+    private BlockedTermResponse toResponse(BlockedTerm blockedTerm) {
+        return BlockedTermResponse.builder()
+            .id(blockedTerm.getId())
+            .term(blockedTerm.getTerm())
+            .reason(blockedTerm.getReason())
+            .createdBy(blockedTerm.getCreatedBy())
+            .createdAt(blockedTerm.getCreatedAt())
+            .build();
+    }
+
+    private ReportTargetResponse toResponse(ReportTarget target) {
+        return ReportTargetResponse.builder()
+            .id(target.getId())
+            .targetType(target.getTargetType())
+            .targetId(target.getTargetId())
+            .status(target.getStatus())
+            .reportCount(target.getReportCount())
+            .openReportCount(target.getOpenReportCount())
+            .distinctReporters(target.getDistinctReporters())
+            .spamCount(target.getSpamCount())
+            .inappropriateCount(target.getInappropriateCount())
+            .fraudCount(target.getFraudCount())
+            .priority(target.getPriority())
+            .firstReportedAt(target.getFirstReportedAt())
+            .lastReportedAt(target.getLastReportedAt())
+            .claimedBy(target.getClaimedBy())
+            .claimExpiresAt(target.getClaimExpiresAt())
+            .build();
+    }
+
     private ReportResponse toResponse(Report report) {
         return ReportResponse.builder()
             .id(report.getId())
@@ -63,4 +226,31 @@ public class ModerationApplicationService {
             .updatedAt(report.getUpdatedAt())
             .build();
     }
+
+    private ModerationActionResponse toResponse(ModerationActionRepository.ActionRow row) {
+        return ModerationActionResponse.builder()
+            .id(row.getId())
+            .reportId(row.getReportId())
+            .targetType(row.getTargetType())
+            .targetId(row.getTargetId())
+            .actionType(row.getActionType())
+            .moderatorId(row.getModeratorId())
+            .note(row.getNote())
+            .createdAt(row.getCreatedAt())
+            .build();
+    }
+
+    private BulkModerationResponse toResponse(BulkModerationResult result) {
+        long succeeded = result.succeeded();
+        return BulkModerationResponse.builder()
+            .succeeded(succeeded)
+            .failed(result.items().size() - succeeded)
+            .items(result.items().stream()
+                .map(item -> BulkModerationResponse.Item.builder()
+                    .reportId(item.reportId())
+                    .outcome(item.outcome())
+                    .build())
+                .collect(Collectors.toList()))
+            .build();
+    }
 }
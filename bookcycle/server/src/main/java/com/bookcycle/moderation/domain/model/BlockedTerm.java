@@ -0,0 +1,89 @@
+package com.bookcycle.moderation.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Moderator-managed phrase that flags chat messages containing it (whole words,
+ * case-insensitive).
+ */
+@Entity
+@Table(schema = "moderation", name = "blocked_terms")
+public class BlockedTerm {
+    public static final int MAX_LENGTH = 200;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "term", length = MAX_LENGTH, nullable = false, unique = true)
+    private String term;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", length = 30, nullable = false)
+    private ReportReason reason;
+
+    @Column(name = "created_by", nullable = false)
+    private UUID createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected BlockedTerm() {
+        // JPA
+    }
+
+    private BlockedTerm(String term, ReportReason reason, UUID createdBy) {
+        this.term = term;
+        this.reason = reason;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static BlockedTerm create(String term, ReportReason reason, UUID createdBy) {
+        String normalized = normalize(term);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("blocked term cannot be empty");
+        }
+        if (normalized.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("blocked term must not exceed " + MAX_LENGTH + " characters");
+        }
+        return new BlockedTerm(normalized, reason, createdBy);
+    }
+
+    /**
+     * Lower case with collapsed whitespace, the form the scanner matches against.
+     */
+    public static String normalize(String term) {
+        return term == null ? "" : term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public ReportReason getReason() {
+        return reason;
+    }
+
+    public UUID getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bookcycle.moderation.domain.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk decision, one item per requested report id in request order.
+ */
+public record BulkModerationResult(List<Item> items) {
+
+    public enum Outcome {
+        DONE,
+        NOT_FOUND,
+        ALREADY_CLOSED,
+        NOT_A_LISTING,
+        LISTING_NOT_FOUND,
+        CLAIMED
+    }
+
+    public record Item(UUID reportId, Outcome outcome) {
+    }
+
+    public long succeeded() {
+        return items.stream().filter(item -> item.outcome() == Outcome.DONE).count();
+    }
+}
@@ -0,0 +1,49 @@
+package com.bookcycle.moderation.domain.model;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Findings of the chat content scanner for one message.
+ */
+public record ContentScanResult(List<Finding> findings) {
+    private static final ContentScanResult CLEAN = new ContentScanResult(List.of());
+
+    public enum Kind {
+        BLOCKED_TERM,
+        PHONE_NUMBER,
+        LINK
+    }
+
+    public record Finding(Kind kind, String excerpt, ReportReason reason) {
+    }
+
+    public static ContentScanResult clean() {
+        return CLEAN;
+    }
+
+    public boolean isClean() {
+        return findings.isEmpty();
+    }
+
+    /**
+     * Most severe reason among the findings (reasons are declared in ascending severity).
+     */
+    public ReportReason reason() {
+        return findings.stream()
+            .map(Finding::reason)
+            .max(Comparator.naturalOrder())
+            .orElseThrow(() -> new IllegalStateException("No findings"));
+    }
+
+    public String summary() {
+        return findings.stream()
+            .map(finding -> switch (finding.kind()) {
+                case BLOCKED_TERM -> "blocked term \"" + finding.excerpt() + "\"";
+                case PHONE_NUMBER -> "phone number " + finding.excerpt();
+                case LINK -> "link " + finding.excerpt();
+            })
+            .collect(Collectors.joining(", ", "Automatically flagged: ", ""));
+    }
+}
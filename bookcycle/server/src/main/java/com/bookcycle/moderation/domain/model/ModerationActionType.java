@@ -2,5 +2,6 @@ package com.bookcycle.moderation.domain.model;
 
 public enum ModerationActionType {
     HIDE_LISTING,
-    RESOLVE_REPORT
+    RESOLVE_REPORT,
+    AUTO_HIDE_LISTING
 }
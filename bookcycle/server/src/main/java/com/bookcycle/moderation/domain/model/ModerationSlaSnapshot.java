@@ -0,0 +1,50 @@
+package com.bookcycle.moderation.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically refreshed view of how long reports wait, for the admin dashboard.
+ *
+ * @param target reports open longer than this count as overdue
+ * @param window closed reports considered for the resolution times
+ * @param oldestOpenAt creation time of the oldest open report, {@code null} if none is open
+ */
+public record ModerationSlaSnapshot(
+        LocalDateTime refreshedAt,
+        Duration target,
+        Duration window,
+        long openReports,
+        long overdueReports,
+        LocalDateTime oldestOpenAt,
+        ReasonStats total,
+        List<ReasonStats> reasons) {
+
+    /**
+     * @param reason {@code null} for the row over all reasons
+     * @param median {@code null} if no report was closed within the window, like {@code p90}
+     */
+    public record ReasonStats(ReportReason reason, long open, long closed, Duration median, Duration p90) {
+    }
+
+    public Duration oldestOpenAge() {
+        return oldestOpenAt == null ? null : Duration.between(oldestOpenAt, refreshedAt);
+    }
+
+    /**
+     * Compact rendering such as "2d 4h", "3h", "3h 12m" or "45m"; "-" for {@code null}.
+     */
+    public String format(Duration duration) {
+        if (duration == null) {
+            return "-";
+        }
+        if (duration.toDays() > 0) {
+            return duration.toDays() + "d" + (duration.toHoursPart() > 0 ? " " + duration.toHoursPart() + "h" : "");
+        }
+        if (duration.toHours() > 0) {
+            return duration.toHours() + "h" + (duration.toMinutesPart() > 0 ? " " + duration.toMinutesPart() + "m" : "");
+        }
+        return Math.max(0, duration.toMinutes()) + "m";
+    }
+}
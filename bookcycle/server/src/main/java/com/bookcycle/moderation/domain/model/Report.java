@@ -8,12 +8,26 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(schema = "moderation", name = "reports")
+@Table(
+    schema = "moderation",
+    name = "reports",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_reports_reporter_target",
+        columnNames = {"reporter_id", "target_type", "target_id"}
+    )
+)
 public class Report {
+    /**
+     * Reporter id of reports raised by the system (e.g. the chat content scanner).
+     */
+    public static final UUID SYSTEM_REPORTER_ID = new UUID(0L, 0L);
+    public static final int MAX_COMMENT_LENGTH = 1000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -29,7 +43,7 @@ public class Report {
     @Column(name = "reason", length = 30, nullable = false)
     private ReportReason reason;
 
-    @Column(name = "comment", length = 1000)
+    @Column(name = "comment", length = MAX_COMMENT_LENGTH)
     private String comment;
 
     @Column(name = "reporter_id", nullable = false)
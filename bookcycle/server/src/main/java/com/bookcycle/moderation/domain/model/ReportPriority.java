@@ -0,0 +1,61 @@
+package com.bookcycle.moderation.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Priority of a reported target: every report adds {@code reasonWeight * reporterFactor},
+ * decayed with a half-life so fresh reports outrank old ones.
+ *
+ * The decayed sum is stored as log2(sum of weight * 2^(age / half-life)) measured against a
+ * fixed epoch. That keeps the score comparable between targets without rescoring rows as
+ * time passes (ordering by it equals ordering by the decayed sum at any instant), and the
+ * log form cannot overflow.
+ */
+public final class ReportPriority {
+    public static final Duration HALF_LIFE = Duration.ofHours(48);
+    static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ReportPriority() {
+    }
+
+    public static double reasonWeight(ReportReason reason) {
+        return switch (reason) {
+            case SPAM -> 1.0;
+            case INAPPROPRIATE -> 2.0;
+            case FRAUD -> 3.0;
+        };
+    }
+
+    /**
+     * Smoothed share of the reporter's closed listing reports that ended with the listing
+     * hidden; 0.5 without history. Message reports cannot be hidden, so they are not counted.
+     */
+    public static double reputation(long upheld, long closed) {
+        return (upheld + 1.0) / (closed + 2.0);
+    }
+
+    /**
+     * Maps reputation (0..1) to a multiplier of 0.5..1.5, neutral for unknown reporters.
+     */
+    public static double reporterFactor(double reputation) {
+        return 0.5 + reputation;
+    }
+
+    /**
+     * Adds a report of the given weight at {@code reportedAt} to a stored score.
+     */
+    public static double add(Double score, double weight, LocalDateTime reportedAt) {
+        double term = Math.log(weight) / Math.log(2) + halfLives(reportedAt);
+        if (score == null) {
+            return term;
+        }
+        double high = Math.max(score, term);
+        double low = Math.min(score, term);
+        return high + Math.log1p(Math.pow(2, low - high)) / Math.log(2);
+    }
+
+    private static double halfLives(LocalDateTime at) {
+        return Duration.between(EPOCH, at).toSeconds() / (double) HALF_LIFE.toSeconds();
+    }
+}
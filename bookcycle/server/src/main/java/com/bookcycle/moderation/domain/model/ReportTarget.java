@@ -0,0 +1,236 @@
+package com.bookcycle.moderation.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * All reports of one listing or message, aggregated into a single moderator queue item.
+ * Counters are cumulative; a new report on a closed target reopens it with a fresh priority.
+ */
+@Entity
+@Table(
+    schema = "moderation",
+    name = "report_targets",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_report_targets_target",
+        columnNames = {"target_type", "target_id"}
+    )
+)
+public class ReportTarget {
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", length = 20, nullable = false)
+    private ReportTargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private UUID targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private ReportStatus status;
+
+    @Column(name = "report_count", nullable = false)
+    private int reportCount;
+
+    @Column(name = "open_report_count", nullable = false)
+    private int openReportCount;
+
+    @Column(name = "distinct_reporters", nullable = false)
+    private int distinctReporters;
+
+    @Column(name = "spam_count", nullable = false)
+    private int spamCount;
+
+    @Column(name = "inappropriate_count", nullable = false)
+    private int inappropriateCount;
+
+    @Column(name = "fraud_count", nullable = false)
+    private int fraudCount;
+
+    // See ReportPriority; null until the first report is recorded.
+    @Column(name = "priority")
+    private Double priority;
+
+    @Column(name = "first_reported_at", nullable = false)
+    private LocalDateTime firstReportedAt;
+
+    @Column(name = "last_reported_at", nullable = false)
+    private LocalDateTime lastReportedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Work-queue lease; the target is free again once claim_expires_at has passed.
+    @Column(name = "claimed_by")
+    private UUID claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
+    // Oldest open report no moderator has acted on yet; cleared by the first claim or decision.
+    @Column(name = "awaiting_since")
+    private LocalDateTime awaitingSince;
+
+    protected ReportTarget() {
+        // JPA
+    }
+
+    /**
+     * Each reporter files at most one report per target (uk_reports_reporter_target), so every
+     * recorded report comes from a new reporter.
+     */
+    public void record(Report report, double reporterFactor) {
+        if (status != ReportStatus.OPEN) {
+            // Reports that were already decided on do not push a reopened target up the queue.
+            priority = null;
+        }
+        if (openReportCount == 0) {
+            awaitingSince = report.getCreatedAt();
+        }
+        reportCount++;
+        openReportCount++;
+        distinctReporters++;
+        switch (report.getReason()) {
+            case SPAM -> spamCount++;
+            case INAPPROPRIATE -> inappropriateCount++;
+            case FRAUD -> fraudCount++;
+        }
+        priority = ReportPriority.add(
+            priority, ReportPriority.reasonWeight(report.getReason()) * reporterFactor, report.getCreatedAt());
+        lastReportedAt = report.getCreatedAt();
+        status = ReportStatus.OPEN;
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Decision on the whole target; all linked reports are closed with it.
+     */
+    public void close(ReportStatus closedStatus) {
+        openReportCount = 0;
+        status = closedStatus;
+        awaitingSince = null;
+        release();
+        updatedAt = LocalDateTime.now();
+    }
+
+    public void claim(UUID moderatorId, LocalDateTime until) {
+        claimedBy = moderatorId;
+        claimExpiresAt = until;
+        awaitingSince = null;
+    }
+
+    public void release() {
+        claimedBy = null;
+        claimExpiresAt = null;
+    }
+
+    public boolean isClaimedByOther(UUID moderatorId, LocalDateTime now) {
+        return claimedBy != null
+            && !claimedBy.equals(moderatorId)
+            && claimExpiresAt != null
+            && claimExpiresAt.isAfter(now);
+    }
+
+    /**
+     * A single linked report was resolved on its own; the target closes with the last one.
+     */
+    public void reportResolved() {
+        openReportCount = Math.max(0, openReportCount - 1);
+        awaitingSince = null;
+        if (openReportCount == 0 && status == ReportStatus.OPEN) {
+            status = ReportStatus.RESOLVED;
+            release();
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Most frequent reason among the target's reports; ties go to the more severe reason.
+     */
+    public ReportReason dominantReason() {
+        if (fraudCount >= inappropriateCount && fraudCount >= spamCount && fraudCount > 0) {
+            return ReportReason.FRAUD;
+        }
+        if (inappropriateCount >= spamCount && inappropriateCount > 0) {
+            return ReportReason.INAPPROPRIATE;
+        }
+        return ReportReason.SPAM;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public ReportTargetType getTargetType() {
+        return targetType;
+    }
+
+    public UUID getTargetId() {
+        return targetId;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public int getReportCount() {
+        return reportCount;
+    }
+
+    public int getOpenReportCount() {
+        return openReportCount;
+    }
+
+    public int getDistinctReporters() {
+        return distinctReporters;
+    }
+
+    public int getSpamCount() {
+        return spamCount;
+    }
+
+    public int getInappropriateCount() {
+        return inappropriateCount;
+    }
+
+    public int getFraudCount() {
+        return fraudCount;
+    }
+
+    public Double getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getFirstReportedAt() {
+        return firstReportedAt;
+    }
+
+    public LocalDateTime getLastReportedAt() {
+        return lastReportedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public UUID getClaimedBy() {
+        return claimedBy;
+    }
+
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+
+    public LocalDateTime getAwaitingSince() {
+        return awaitingSince;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookcycle.moderation.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Human-readable description of a reported listing or message for moderation screens.
+ *
+ * @param text listing title or message excerpt, {@code null} if the target no longer exists
+ */
+public record ReportTargetLabel(ReportTargetType targetType, UUID targetId, String text) {
+
+    public boolean exists() {
+        return text != null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.bookcycle.moderation.domain.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable Aho–Corasick automaton over lower-case patterns.
+ *
+ * Transitions are stored per state as sorted char arrays and resolved by binary search;
+ * fail links and dictionary links are precomputed so a scan is a single left-to-right
+ * pass with no backtracking, independent of the number of patterns.
+ */
+final class AhoCorasickAutomaton {
+    private static final int ROOT = 0;
+    private static final int ASCII = 128;
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // Pattern ending exactly in this state, or -1.
+    private final int[] pattern;
+    // Nearest state on the fail chain that ends a pattern, or -1.
+    private final int[] dictionaryLink;
+    private final int[] patternLengths;
+    // Root transitions for ASCII, ROOT where there is none: most chars of a message restart here.
+    private final int[] rootTargets = new int[ASCII];
+
+    private AhoCorasickAutomaton(char[][] keys, int[][] targets, int[] fail, int[] pattern,
+                                 int[] dictionaryLink, int[] patternLengths) {
+        for (char c = 0; c < ASCII; c++) {
+            rootTargets[c] = Math.max(ROOT, step(keys, targets, ROOT, c));
+        }
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.pattern = pattern;
+        this.dictionaryLink = dictionaryLink;
+        this.patternLengths = patternLengths;
+    }
+
+    static AhoCorasickAutomaton build(List<String> patterns) {
+        List<StringBuilder> edgeKeys = new ArrayList<>();
+        List<List<Integer>> edgeTargets = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        edgeKeys.add(new StringBuilder());
+        edgeTargets.add(new ArrayList<>());
+        ends.add(-1);
+
+        int[] lengths = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            String value = patterns.get(p);
+            lengths[p] = value.length();
+            int state = ROOT;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                int edge = edgeKeys.get(state).indexOf(String.valueOf(c));
+                if (edge >= 0) {
+                    state = edgeTargets.get(state).get(edge);
+                } else {
+                    int created = edgeKeys.size();
+                    edgeKeys.add(new StringBuilder());
+                    edgeTargets.add(new ArrayList<>());
+                    ends.add(-1);
+                    edgeKeys.get(state).append(c);
+                    edgeTargets.get(state).add(created);
+                    state = created;
+                }
+            }
+            if (ends.get(state) < 0) {
+                ends.set(state, p);
+            }
+        }
+
+        int size = edgeKeys.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        int[] pattern = new int[size];
+        for (int s = 0; s < size; s++) {
+            char[] k = edgeKeys.get(s).toString().toCharArray();
+            Integer[] order = new Integer[k.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Character.compare(k[a], k[b]));
+            keys[s] = new char[k.length];
+            targets[s] = new int[k.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[s][i] = k[order[i]];
+                targets[s][i] = edgeTargets.get(s).get(order[i]);
+            }
+            pattern[s] = ends.get(s);
+        }
+
+        int[] fail = new int[size];
+        int[] dictionaryLink = new int[size];
+        Arrays.fill(dictionaryLink, -1);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = 0; i < keys[state].length; i++) {
+                char c = keys[state][i];
+                int child = targets[state][i];
+                int f = fail[state];
+                int next;
+                while ((next = step(keys, targets, f, c)) < 0 && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 && next != child ? next : ROOT;
+                dictionaryLink[child] = pattern[fail[child]] >= 0 ? fail[child] : dictionaryLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+        return new AhoCorasickAutomaton(keys, targets, fail, pattern, dictionaryLink, lengths);
+    }
+
+    int start() {
+        return ROOT;
+    }
+
+    /**
+     * Follows {@code c} from {@code state}, falling back along fail links.
+     */
+    int next(int state, char c) {
+        int s = state;
+        while (true) {
+            if (s == ROOT && c < ASCII) {
+                return rootTargets[c];
+            }
+            int target = step(keys, targets, s, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (s == ROOT) {
+                return ROOT;
+            }
+            s = fail[s];
+        }
+    }
+
+    /**
+     * First pattern ending in {@code state} (directly or via its dictionary links), or -1.
+     */
+    int firstMatch(int state) {
+        return pattern[state] >= 0 ? state : dictionaryLink[state];
+    }
+
+    int nextMatch(int matchState) {
+        return dictionaryLink[matchState];
+    }
+
+    int patternAt(int matchState) {
+        return pattern[matchState];
+    }
+
+    int patternLength(int patternIndex) {
+        return patternLengths[patternIndex];
+    }
+
+    private static int step(char[][] keys, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+}
@@ -0,0 +1,162 @@
+package com.bookcycle.moderation.domain.service;
+
+import com.bookcycle.moderation.domain.model.Report;
+import com.bookcycle.moderation.domain.model.ReportReason;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import com.bookcycle.moderation.infrastructure.persistence.ReportRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evaluates the auto-hide rules for every new listing report.
+ *
+ * Keeps one sliding window of recent open reports per listing in memory. A window that is not
+ * in memory (first report, restart, evicted, reset) is rebuilt from the open reports in the
+ * reports table, so counts survive restarts and reports closed by a decision never count
+ * again. Callers hold the report target row lock, which serializes updates per listing.
+ */
+@Component
+public class AutoModerationEngine {
+    private final AutoModerationProperties properties;
+    private final ReportRepository reportRepository;
+    private final Map<UUID, ReportWindow> windows = new ConcurrentHashMap<>();
+
+    public AutoModerationEngine(AutoModerationProperties properties, ReportRepository reportRepository) {
+        this.properties = properties;
+        this.reportRepository = reportRepository;
+    }
+
+    /**
+     * Adds the (already saved) report to its listing's window and returns the first rule
+     * that now fires. The report is taken out of the window again if the transaction rolls back.
+     */
+    public Optional<AutoModerationProperties.Rule> onReport(Report report) {
+        if (!properties.enabled()
+            || properties.rules().isEmpty()
+            || report.getTargetType() != ReportTargetType.LISTING
+            || Report.SYSTEM_REPORTER_ID.equals(report.getReporterId())) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = report.getCreatedAt();
+        ReportWindow window = windows.get(report.getTargetId());
+        if (window == null) {
+            // Loaded outside computeIfAbsent to keep the query out of the map lock. The load
+            // already sees this report, because it was flushed before the query.
+            ReportWindow loaded = load(report.getTargetId(), now);
+            window = Optional.ofNullable(windows.putIfAbsent(report.getTargetId(), loaded)).orElse(loaded);
+        }
+        window.add(report.getId(), report.getReporterId(), report.getReason(), now);
+        undoOnRollback(report.getTargetId(), report.getId());
+        window.evictBefore(now.minus(properties.longestWindow()));
+
+        for (AutoModerationProperties.Rule rule : properties.rules()) {
+            if (window.distinctReporters(rule, now.minus(rule.window())) >= rule.distinctReporters()) {
+                return Optional.of(rule);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Drops the listing's window after reports on it were closed; the next report rebuilds it
+     * from the reports that are still open.
+     */
+    public void reset(UUID listingId) {
+        windows.remove(listingId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.moderation.auto-hide.sweep-interval:PT5M}")
+    public void sweepIdle() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.longestWindow());
+        windows.values().removeIf(window -> window.evictBefore(cutoff));
+    }
+
+    private ReportWindow load(UUID listingId, LocalDateTime now) {
+        ReportWindow window = new ReportWindow();
+        List<Report> recent = reportRepository.findRecentOpenByTarget(
+            ReportTargetType.LISTING, listingId, now.minus(properties.longestWindow()), Report.SYSTEM_REPORTER_ID);
+        for (Report report : recent) {
+            window.add(report.getId(), report.getReporterId(), report.getReason(), report.getCreatedAt());
+        }
+        return window;
+    }
+
+    private void undoOnRollback(UUID listingId, UUID reportId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    ReportWindow window = windows.get(listingId);
+                    if (window != null) {
+                        window.remove(reportId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports of one listing in arrival order.
+     */
+    static final class ReportWindow {
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+        private record Entry(UUID reportId, UUID reporterId, ReportReason reason, LocalDateTime reportedAt) {
+        }
+
+        synchronized void add(UUID reportId, UUID reporterId, ReportReason reason, LocalDateTime reportedAt) {
+            for (Entry entry : entries) {
+                if (entry.reportId().equals(reportId)) {
+                    return;
+                }
+            }
+            entries.addLast(new Entry(reportId, reporterId, reason, reportedAt));
+        }
+
+        synchronized void remove(UUID reportId) {
+            entries.removeIf(entry -> entry.reportId().equals(reportId));
+        }
+
+        /**
+         * @return whether the window is empty afterwards
+         */
+        synchronized boolean evictBefore(LocalDateTime cutoff) {
+            while (!entries.isEmpty() && entries.peekFirst().reportedAt().isBefore(cutoff)) {
+                entries.removeFirst();
+            }
+            return entries.isEmpty();
+        }
+
+        synchronized int distinctReporters(AutoModerationProperties.Rule rule, LocalDateTime since) {
+            Set<UUID> reporters = new HashSet<>();
+            Iterator<Entry> newestFirst = entries.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Entry entry = newestFirst.next();
+                if (entry.reportedAt().isBefore(since)) {
+                    break;
+                }
+                if (rule.counts(entry.reason())) {
+                    reporters.add(entry.reporterId());
+                }
+            }
+            return reporters.size();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookcycle.moderation.domain.service;
+
+import com.bookcycle.moderation.domain.model.ReportReason;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.moderation.auto-hide: rules that hide a listing without waiting for a moderator.
+ */
+@ConfigurationProperties(prefix = "app.moderation.auto-hide")
+public record AutoModerationProperties(boolean enabled, List<Rule> rules) {
+
+    public AutoModerationProperties {
+        rules = rules != null ? List.copyOf(rules) : List.of();
+    }
+
+    public Duration longestWindow() {
+        return rules.stream().map(Rule::window).max(Duration::compareTo).orElse(Duration.ZERO);
+    }
+
+    /**
+     * @param name              shown in the moderation action note
+     * @param reasons           report reasons that count; empty counts all
+     * @param distinctReporters reporters needed within the window to fire
+     * @param window            sliding window length
+     */
+    public record Rule(String name, Set<ReportReason> reasons, int distinctReporters, Duration window) {
+        public Rule {
+            reasons = reasons != null ? Set.copyOf(reasons) : Set.of();
+            if (distinctReporters < 1) {
+                throw new IllegalArgumentException("distinct-reporters of rule " + name + " must be positive");
+            }
+            if (window == null || window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("window of rule " + name + " must be positive");
+            }
+        }
+
+        public boolean counts(ReportReason reason) {
+            return reasons.isEmpty() || reasons.contains(reason);
+        }
+    }
+}
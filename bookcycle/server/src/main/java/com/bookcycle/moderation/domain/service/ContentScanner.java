@@ -0,0 +1,201 @@
+package com.bookcycle.moderation.domain.service;
+
+import com.bookcycle.moderation.domain.model.BlockedTerm;
+import com.bookcycle.moderation.domain.model.ContentScanResult;
+import com.bookcycle.moderation.domain.model.ContentScanResult.Finding;
+import com.bookcycle.moderation.domain.model.ContentScanResult.Kind;
+import com.bookcycle.moderation.domain.model.ReportReason;
+import com.bookcycle.moderation.infrastructure.persistence.BlockedTermRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Scans chat messages for blocked terms, phone numbers and links in one pass.
+ *
+ * - Blocked terms and link prefixes (http://, www., wa.me/, ...) share one Aho–Corasick automaton
+ * - Phone numbers are tracked as digit runs in the same loop
+ * - The precompiled regexes only run on the few candidates the pass produced, to confirm
+ *   them and cut out the excerpt
+ *
+ * The automaton is rebuilt after blocklist changes on this node and periodically, so
+ * changes made on other nodes arrive as well.
+ */
+@Component
+public class ContentScanner {
+    private static final List<String> LINK_PREFIXES = List.of("http://", "https://", "www.", "wa.me/", "t.me/", "bit.ly/");
+    private static final Pattern LINK = Pattern.compile("(?:https?://|www\\.|wa\\.me/|t\\.me/|bit\\.ly/)[^\\s<>\"']+",
+        Pattern.CASE_INSENSITIVE);
+    // National (0...) or international (+.../00...) numbers; dots are not separators so dates never match.
+    private static final Pattern PHONE = Pattern.compile("(?:\\+|00)[1-9][\\d\\s/()-]{6,20}\\d|0[1-9][\\d\\s/()-]{5,20}\\d");
+    private static final String PHONE_SEPARATORS = " -/()";
+    private static final int MIN_PHONE_DIGITS = 8;
+    private static final int MAX_PHONE_DIGITS = 15;
+    private static final int MAX_FINDINGS = 10;
+    private static final int MAX_EXCERPT_LENGTH = 80;
+    // Folded (lower-cased, whitespace to ' ') form of each ASCII char, the common case of the hot loop.
+    private static final char[] ASCII_FOLDED = new char[128];
+
+    static {
+        for (char c = 0; c < ASCII_FOLDED.length; c++) {
+            ASCII_FOLDED[c] = fold(c);
+        }
+    }
+
+    private final BlockedTermRepository blockedTermRepository;
+    private final boolean enabled;
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public ContentScanner(
+            BlockedTermRepository blockedTermRepository,
+            @Value("${app.moderation.scanner.enabled:true}") boolean enabled) {
+        this.blockedTermRepository = blockedTermRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.moderation.scanner.refresh-interval:PT1M}", initialDelayString = "PT1M")
+    public void reload() {
+        snapshot = Snapshot.of(blockedTermRepository.findAll());
+    }
+
+    @TransactionalEventListener
+    public void onBlocklistChanged(BlocklistChangedEvent event) {
+        reload();
+    }
+
+    public ContentScanResult scan(String text) {
+        if (!enabled || text == null || text.isEmpty()) {
+            return ContentScanResult.clean();
+        }
+        Snapshot current = snapshot;
+        AhoCorasickAutomaton automaton = current.automaton();
+        List<Finding> findings = null;
+
+        int state = automaton.start();
+        int runStart = -1;
+        int runEnd = -1;
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char raw = text.charAt(i);
+            char c = raw < ASCII_FOLDED.length ? ASCII_FOLDED[raw] : fold(raw);
+
+            state = automaton.next(state, c);
+            for (int match = automaton.firstMatch(state); match >= 0; match = automaton.nextMatch(match)) {
+                int pattern = automaton.patternAt(match);
+                Finding finding = current.confirm(text, pattern, i + 1 - automaton.patternLength(pattern), i + 1);
+                if (finding != null) {
+                    findings = add(findings, finding);
+                }
+            }
+
+            if (raw >= '0' && raw <= '9') {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+                digits++;
+                runEnd = i + 1;
+            } else if (raw == '+' && runStart < 0) {
+                runStart = i;
+            } else if (runStart >= 0 && PHONE_SEPARATORS.indexOf(raw) < 0) {
+                findings = add(findings, confirmPhone(text, runStart, runEnd, digits));
+                runStart = -1;
+                digits = 0;
+            }
+            if (findings != null && findings.size() >= MAX_FINDINGS) {
+                return new ContentScanResult(findings);
+            }
+        }
+        if (runStart >= 0) {
+            findings = add(findings, confirmPhone(text, runStart, runEnd, digits));
+        }
+        return findings == null ? ContentScanResult.clean() : new ContentScanResult(findings);
+    }
+
+    private static char fold(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    private static Finding confirmPhone(String text, int start, int end, int digits) {
+        if (digits < MIN_PHONE_DIGITS || digits > MAX_PHONE_DIGITS || end <= start) {
+            return null;
+        }
+        String candidate = text.substring(start, end);
+        return PHONE.matcher(candidate).matches() && !isIsbn10(candidate)
+            ? new Finding(Kind.PHONE_NUMBER, candidate, ReportReason.SPAM)
+            : null;
+    }
+
+    // Books are the main topic here: a 10-digit run with a valid ISBN-10 checksum is not a phone number.
+    private static boolean isIsbn10(String candidate) {
+        String digits = candidate.replaceAll("\\D", "");
+        if (digits.length() != 10) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            sum += (10 - i) * (digits.charAt(i) - '0');
+        }
+        return sum % 11 == 0;
+    }
+
+    private static List<Finding> add(List<Finding> findings, Finding finding) {
+        if (finding == null) {
+            return findings;
+        }
+        List<Finding> result = findings != null ? findings : new ArrayList<>(2);
+        if (!result.contains(finding)) {
+            result.add(finding);
+        }
+        return result;
+    }
+
+    private static boolean isWordCharacter(String text, int index) {
+        return index >= 0 && index < text.length() && Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static String excerpt(String value) {
+        return value.length() <= MAX_EXCERPT_LENGTH ? value : value.substring(0, MAX_EXCERPT_LENGTH) + "\u2026";
+    }
+
+    /**
+     * Published after the blocklist was modified.
+     */
+    public record BlocklistChangedEvent() {
+    }
+
+    private record Snapshot(AhoCorasickAutomaton automaton, List<BlockedTerm> terms) {
+        static Snapshot of(List<BlockedTerm> terms) {
+            List<String> patterns = new ArrayList<>(LINK_PREFIXES);
+            terms.forEach(term -> patterns.add(term.getTerm()));
+            return new Snapshot(AhoCorasickAutomaton.build(patterns), List.copyOf(terms));
+        }
+
+        // Patterns [0, LINK_PREFIXES.size()) are link prefixes, the rest blocked terms.
+        Finding confirm(String text, int pattern, int start, int end) {
+            if (isWordCharacter(text, start - 1)) {
+                return null;
+            }
+            if (pattern < LINK_PREFIXES.size()) {
+                // "www." inside "https://www..." is part of a link already reported.
+                if (start > 0 && text.charAt(start - 1) == '/') {
+                    return null;
+                }
+                Matcher matcher = LINK.matcher(text).region(start, text.length());
+                return matcher.lookingAt() ? new Finding(Kind.LINK, excerpt(matcher.group()), ReportReason.SPAM) : null;
+            }
+            if (isWordCharacter(text, end)) {
+                return null;
+            }
+            BlockedTerm term = terms.get(pattern - LINK_PREFIXES.size());
+            return new Finding(Kind.BLOCKED_TERM, term.getTerm(), term.getReason());
+        }
+    }
+}
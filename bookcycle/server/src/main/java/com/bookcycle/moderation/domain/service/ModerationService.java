@@ -1,74 +1,556 @@
 package com.bookcycle.moderation.domain.service;
 
-import com.bookcycle.communication.infrastructure.persistence.MessageRepository;
+import com.bookcycle.moderation.application.dto.ReportSearchCriteria;
 import com.bookcycle.marketplace.domain.service.ListingService;
+import com.bookcycle.moderation.domain.model.BlockedTerm;
+import com.bookcycle.moderation.domain.model.BulkModerationResult;
+import com.bookcycle.moderation.domain.model.ContentScanResult;
 import com.bookcycle.moderation.domain.model.ModerationAction;
 import com.bookcycle.moderation.domain.model.ModerationActionType;
 import com.bookcycle.moderation.domain.model.Report;
+import com.bookcycle.moderation.domain.model.ReportPriority;
 import com.bookcycle.moderation.domain.model.ReportReason;
 import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTarget;
 import com.bookcycle.moderation.domain.model.ReportTargetType;
+import com.bookcycle.moderation.infrastructure.metrics.ModerationMetrics;
+import com.bookcycle.moderation.infrastructure.persistence.BlockedTermRepository;
 import com.bookcycle.moderation.infrastructure.persistence.ModerationActionRepository;
+import com.bookcycle.moderation.infrastructure.persistence.ModerationActionRepository.ActionRow;
 import com.bookcycle.moderation.infrastructure.persistence.ReportRepository;
+import com.bookcycle.moderation.infrastructure.persistence.ReportSpecifications;
+import com.bookcycle.moderation.infrastructure.persistence.ReportTargetRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ModerationService {
+    public static final int MAX_BULK_SIZE = 500;
+    public static final int MAX_ACTION_PAGE_SIZE = 100;
+    static final int EXPORT_BATCH_SIZE = 500;
+    // Sorts before every real id, so an export cursor at (from, NIL_ID) includes actions at exactly from.
+    private static final UUID NIL_ID = new UUID(0L, 0L);
+
     private final ReportRepository reportRepository;
+    private final ReportTargetRepository reportTargetRepository;
     private final ModerationActionRepository actionRepository;
     private final ListingService listingService;
-    private final MessageRepository messageRepository;
+    private final ReportTargetResolver targetResolver;
+    private final BlockedTermRepository blockedTermRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AutoModerationEngine autoModerationEngine;
+    private final ModerationMetrics metrics;
+
+    @Value("${app.moderation.queue.lease-duration:PT10M}")
+    private Duration leaseDuration;
+
+    @Value("${app.moderation.queue.max-claim-batch-size:20}")
+    private int maxClaimBatchSize;
 
     @Transactional
     public Report createReport(ReportTargetType targetType, UUID targetId, ReportReason reason, String comment, UUID reporterId) {
         validateTargetExists(targetType, targetId);
-        Report report = Report.create(targetType, targetId, reason, comment, reporterId);
-        return reportRepository.save(report);
+        return fileReport(Report.create(targetType, targetId, reason, comment, reporterId));
+    }
+
+    /**
+     * Report raised by the content scanner for a chat message that was just sent, so it is not
+     * looked up again. Called after the send committed, hence a transaction of its own.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Report reportMessageAutomatically(UUID messageId, ContentScanResult scan) {
+        String comment = scan.summary();
+        if (comment.length() > Report.MAX_COMMENT_LENGTH) {
+            comment = comment.substring(0, Report.MAX_COMMENT_LENGTH);
+        }
+        return fileReport(
+            Report.create(ReportTargetType.MESSAGE, messageId, scan.reason(), comment, Report.SYSTEM_REPORTER_ID));
+    }
+
+    /**
+     * Report raised when a published listing re-uses photos of another seller's listing.
+     * Called after the publish committed, hence a transaction of its own.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Report reportListingAutomatically(UUID listingId, String comment) {
+        if (comment.length() > Report.MAX_COMMENT_LENGTH) {
+            comment = comment.substring(0, Report.MAX_COMMENT_LENGTH);
+        }
+        return fileReport(
+            Report.create(ReportTargetType.LISTING, listingId, ReportReason.FRAUD, comment, Report.SYSTEM_REPORTER_ID));
     }
 
     @Transactional(readOnly = true)
-    public List<Report> listReports(ReportStatus status) {
-        if (status == null) {
-            return reportRepository.findAll();
+    public Page<Report> searchReports(ReportSearchCriteria criteria, Pageable pageable) {
+        if (criteria != null && criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+            && criteria.getCreatedFrom().isAfter(criteria.getCreatedTo())) {
+            throw new IllegalArgumentException("createdFrom must not be after createdTo");
         }
-        return reportRepository.findByStatus(status);
+        return reportRepository.findAll(ReportSpecifications.withCriteria(criteria), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long countReports(ReportStatus status) {
+        return reportRepository.countByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReportTarget> listReportTargets(ReportStatus status, Pageable pageable) {
+        return reportTargetRepository.findQueue(status != null ? status : ReportStatus.OPEN, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Report> listReportsForTarget(UUID reportTargetId, Pageable pageable) {
+        ReportTarget target = getReportTarget(reportTargetId);
+        return reportRepository.findByTargetTypeAndTargetId(target.getTargetType(), target.getTargetId(), pageable);
     }
 
+    /**
+     * Hiding a listing settles every report about it, so all linked reports are closed.
+     */
     @Transactional
     public Report hideListing(UUID reportId, UUID moderatorId, String note) {
         Report report = getReport(reportId);
-        if (report.getTargetType() != ReportTargetType.LISTING) {
-            throw new IllegalStateException("Report is not for a listing");
-        }
-        listingService.hide(report.getTargetId());
-        report.markHidden();
-        Report saved = reportRepository.save(report);
-        actionRepository.save(ModerationAction.create(saved, ModerationActionType.HIDE_LISTING, moderatorId, note));
-        return saved;
+        ReportTarget target = lockTarget(report.getTargetType(), report.getTargetId());
+        hideTarget(target, moderatorId, note);
+        return getReport(reportId);
     }
 
     @Transactional
     public Report resolveReport(UUID reportId, UUID moderatorId, String note) {
         Report report = getReport(reportId);
+        Optional<ReportTarget> target = reportTargetRepository.findForUpdate(report.getTargetType(), report.getTargetId());
+        target.ifPresent(t -> ensureNotClaimedByOther(t, moderatorId));
+        boolean wasOpen = report.getStatus() == ReportStatus.OPEN;
         report.resolve();
         Report saved = reportRepository.save(report);
         actionRepository.save(ModerationAction.create(saved, ModerationActionType.RESOLVE_REPORT, moderatorId, note));
+        if (wasOpen) {
+            target.ifPresent(t -> {
+                metrics.firstAction(t, ModerationActionType.RESOLVE_REPORT.name(), saved.getUpdatedAt());
+                t.reportResolved();
+            });
+            metrics.reportClosed(saved.getReason(), saved.getTargetType(), ReportStatus.RESOLVED,
+                saved.getCreatedAt(), saved.getUpdatedAt());
+            autoModerationEngine.reset(saved.getTargetId());
+        }
         return saved;
     }
 
-    private void validateTargetExists(ReportTargetType targetType, UUID targetId) {
-        if (targetType == ReportTargetType.LISTING) {
-            listingService.getListing(targetId);
-        } else if (targetType == ReportTargetType.MESSAGE) {
-            if (!messageRepository.existsById(targetId)) {
-                throw new IllegalArgumentException("Message not found: " + targetId);
+    @Transactional
+    public ReportTarget resolveReportTarget(UUID reportTargetId, UUID moderatorId, String note) {
+        ReportTarget target = lockTarget(reportTargetId);
+        ensureNotClaimedByOther(target, moderatorId);
+        closeTarget(target, ReportStatus.RESOLVED, ModerationActionType.RESOLVE_REPORT, moderatorId, note);
+        return target;
+    }
+
+    /**
+     * Leases up to {@code batchSize} open targets to the moderator, highest priority first.
+     * The moderator's own unexpired claims are renewed and count towards the batch, so
+     * claiming again never hoards more than one batch. Claims that are neither decided nor
+     * released expire and return to the queue on their own.
+     */
+    @Transactional
+    public List<ReportTarget> claimReportTargets(UUID moderatorId, int batchSize) {
+        if (batchSize < 1 || batchSize > maxClaimBatchSize) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + maxClaimBatchSize);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leaseDuration);
+
+        List<ReportTarget> claimed = new ArrayList<>(reportTargetRepository.findClaimedBy(moderatorId, now));
+        if (claimed.size() < batchSize) {
+            claimed.addAll(reportTargetRepository.findClaimable(now, PageRequest.of(0, batchSize - claimed.size())));
+        }
+        claimed.forEach(target -> {
+            metrics.firstAction(target, "CLAIM", now);
+            target.claim(moderatorId, until);
+        });
+        return claimed;
+    }
+
+    @Transactional
+    public ReportTarget releaseReportTarget(UUID reportTargetId, UUID moderatorId) {
+        ReportTarget target = lockTarget(reportTargetId);
+        ensureNotClaimedByOther(target, moderatorId);
+        target.release();
+        return target;
+    }
+
+    @Transactional
+    public ReportTarget hideReportTarget(UUID reportTargetId, UUID moderatorId, String note) {
+        ReportTarget target = lockTarget(reportTargetId);
+        hideTarget(target, moderatorId, note);
+        return target;
+    }
+
+    /**
+     * Resolves many reports in one transaction. Each id gets its own outcome; ids that
+     * cannot be resolved are skipped instead of failing the whole batch.
+     */
+    @Transactional
+    public BulkModerationResult bulkResolve(Collection<UUID> reportIds, UUID moderatorId, String note) {
+        Set<UUID> ids = bulkIds(reportIds);
+        Map<UUID, Report> reports = loadReports(ids);
+        Map<ReportTargetType, Map<UUID, ReportTarget>> targets = lockTargets(reports.values());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BulkModerationResult.Item> items = new ArrayList<>();
+        List<Report> resolvable = new ArrayList<>();
+        for (UUID id : ids) {
+            Report report = reports.get(id);
+            ReportTarget target = report == null ? null
+                : targets.getOrDefault(report.getTargetType(), Map.of()).get(report.getTargetId());
+            BulkModerationResult.Outcome outcome = checkBulkItem(report, target, moderatorId, now);
+            if (outcome == BulkModerationResult.Outcome.DONE) {
+                resolvable.add(report);
+                if (target != null) {
+                    metrics.firstAction(target, ModerationActionType.RESOLVE_REPORT.name(), now);
+                    target.reportResolved();
+                }
+                metrics.reportClosed(report.getReason(), report.getTargetType(), ReportStatus.RESOLVED,
+                    report.getCreatedAt(), now);
+            }
+            items.add(new BulkModerationResult.Item(id, outcome));
+        }
+
+        if (!resolvable.isEmpty()) {
+            actionRepository.saveAll(resolvable.stream()
+                .map(report -> ModerationAction.create(report, ModerationActionType.RESOLVE_REPORT, moderatorId, note))
+                .toList());
+            reportRepository.closeOpenByIds(resolvable.stream().map(Report::getId).toList(), ReportStatus.RESOLVED, now);
+            resolvable.stream().map(Report::getTargetId).distinct().forEach(autoModerationEngine::reset);
+        }
+        return new BulkModerationResult(items);
+    }
+
+    /**
+     * Hides the listings behind many reports in one transaction. Like a single hide, every
+     * open report about an affected listing is closed, not only the ones passed in.
+     */
+    @Transactional
+    public BulkModerationResult bulkHide(Collection<UUID> reportIds, UUID moderatorId, String note) {
+        Set<UUID> ids = bulkIds(reportIds);
+        Map<UUID, Report> reports = loadReports(ids);
+        Map<UUID, ReportTarget> targets = lockTargets(reports.values())
+            .getOrDefault(ReportTargetType.LISTING, Map.of());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<UUID, BulkModerationResult.Outcome> outcomes = new LinkedHashMap<>();
+        Set<UUID> listingIds = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            Report report = reports.get(id);
+            BulkModerationResult.Outcome outcome;
+            if (report != null && report.getTargetType() != ReportTargetType.LISTING) {
+                outcome = BulkModerationResult.Outcome.NOT_A_LISTING;
+            } else {
+                outcome = checkBulkItem(report, report == null ? null : targets.get(report.getTargetId()), moderatorId, now);
+            }
+            if (outcome == BulkModerationResult.Outcome.DONE) {
+                listingIds.add(report.getTargetId());
+            }
+            outcomes.put(id, outcome);
+        }
+
+        Set<UUID> hidden = listingService.hideAll(listingIds);
+        for (Map.Entry<UUID, BulkModerationResult.Outcome> entry : outcomes.entrySet()) {
+            if (entry.getValue() == BulkModerationResult.Outcome.DONE
+                && !hidden.contains(reports.get(entry.getKey()).getTargetId())) {
+                entry.setValue(BulkModerationResult.Outcome.LISTING_NOT_FOUND);
+            }
+        }
+
+        if (!hidden.isEmpty()) {
+            List<ReportRepository.OpenReport> openReports =
+                reportRepository.findOpenByTargets(ReportTargetType.LISTING, hidden);
+            hidden.stream().map(targets::get).filter(Objects::nonNull).forEach(target -> {
+                metrics.firstAction(target, ModerationActionType.HIDE_LISTING.name(), now);
+                target.close(ReportStatus.HIDDEN);
+            });
+            actionRepository.saveAll(openReports.stream()
+                .map(open -> ModerationAction.create(
+                    reportRepository.getReferenceById(open.getId()), ModerationActionType.HIDE_LISTING, moderatorId, note))
+                .toList());
+            openReports.forEach(open -> metrics.reportClosed(
+                open.getReason(), ReportTargetType.LISTING, ReportStatus.HIDDEN, open.getCreatedAt(), now));
+            reportRepository.closeOpenByIds(
+                openReports.stream().map(ReportRepository.OpenReport::getId).toList(), ReportStatus.HIDDEN, now);
+            hidden.forEach(autoModerationEngine::reset);
+        }
+
+        return new BulkModerationResult(outcomes.entrySet().stream()
+            .map(entry -> new BulkModerationResult.Item(entry.getKey(), entry.getValue()))
+            .toList());
+    }
+
+    /**
+     * Actions taken on a report, newest first. Without {@code before} the latest page is
+     * returned; otherwise the page of actions older than that action.
+     */
+    @Transactional(readOnly = true)
+    public List<ActionRow> listActionsForReport(UUID reportId, UUID before, int limit) {
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_ACTION_PAGE_SIZE)));
+        if (before == null) {
+            return actionRepository.findLatestByReport(reportId, page);
+        }
+        return actionRepository.findByReportBefore(reportId, actionCreatedAt(before), before, page);
+    }
+
+    /**
+     * Actions taken by a moderator, newest first; paged like {@link #listActionsForReport}.
+     */
+    @Transactional(readOnly = true)
+    public List<ActionRow> listActionsByModerator(UUID moderatorId, UUID before, int limit) {
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_ACTION_PAGE_SIZE)));
+        if (before == null) {
+            return actionRepository.findLatestByModerator(moderatorId, page);
+        }
+        return actionRepository.findByModeratorBefore(moderatorId, actionCreatedAt(before), before, page);
+    }
+
+    /**
+     * Hands all actions in [from, until), oldest first, to the consumer in batches. Each batch
+     * is a separate keyset query, so an export of any size holds neither a transaction nor
+     * more than one batch in memory.
+     *
+     * @param moderatorId restricts the export to one moderator if set
+     */
+    public void exportActions(UUID moderatorId, LocalDateTime from, LocalDateTime until, Consumer<List<ActionRow>> consumer) {
+        if (from == null || until == null || !from.isBefore(until)) {
+            throw new IllegalArgumentException("from must be before until");
+        }
+        Pageable batch = PageRequest.of(0, EXPORT_BATCH_SIZE);
+        LocalDateTime createdAt = from;
+        UUID actionId = NIL_ID;
+        List<ActionRow> rows;
+        do {
+            rows = moderatorId == null
+                ? actionRepository.findAfter(createdAt, actionId, until, batch)
+                : actionRepository.findByModeratorAfter(moderatorId, createdAt, actionId, until, batch);
+            if (!rows.isEmpty()) {
+                consumer.accept(rows);
+                ActionRow last = rows.get(rows.size() - 1);
+                createdAt = last.getCreatedAt();
+                actionId = last.getId();
             }
+        } while (rows.size() == EXPORT_BATCH_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BlockedTerm> listBlockedTerms() {
+        return blockedTermRepository.findAll();
+    }
+
+    @Transactional
+    public BlockedTerm addBlockedTerm(String term, ReportReason reason, UUID moderatorId) {
+        BlockedTerm blockedTerm = BlockedTerm.create(term, reason, moderatorId);
+        if (blockedTermRepository.existsByTerm(blockedTerm.getTerm())) {
+            throw new IllegalArgumentException("Term is already blocked: " + blockedTerm.getTerm());
+        }
+        BlockedTerm saved = blockedTermRepository.save(blockedTerm);
+        eventPublisher.publishEvent(new ContentScanner.BlocklistChangedEvent());
+        return saved;
+    }
+
+    @Transactional
+    public void removeBlockedTerm(UUID blockedTermId) {
+        if (!blockedTermRepository.existsById(blockedTermId)) {
+            throw new IllegalArgumentException("Blocked term not found: " + blockedTermId);
+        }
+        blockedTermRepository.deleteById(blockedTermId);
+        eventPublisher.publishEvent(new ContentScanner.BlocklistChangedEvent());
+    }
+
+    /**
+     * Saves the report and folds it into the aggregate of its target. The target row lock is
+     * taken first, so reports and decisions on one target are serialized.
+     *
+     * A reporter who already reported the target gets the existing report back; repeated
+     * reports are checked without locking or writing anything.
+     */
+    private Report fileReport(Report report) {
+        Optional<Report> existing = findExistingReport(report);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        ReportTarget target = lockTarget(report.getTargetType(), report.getTargetId());
+        existing = findExistingReport(report);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Report saved = reportRepository.save(report);
+        target.record(saved, reporterFactor(saved.getReporterId()));
+        metrics.reportCreated(saved.getReason(), saved.getTargetType());
+
+        Optional<AutoModerationProperties.Rule> firedRule = autoModerationEngine.onReport(saved);
+        if (firedRule.isEmpty()) {
+            return saved;
+        }
+        autoHide(target, firedRule.get());
+        return getReport(saved.getId());
+    }
+
+    private Optional<Report> findExistingReport(Report report) {
+        return reportRepository.findByTargetTypeAndTargetIdAndReporterId(
+            report.getTargetType(), report.getTargetId(), report.getReporterId());
+    }
+
+    private void autoHide(ReportTarget target, AutoModerationProperties.Rule rule) {
+        listingService.hide(target.getTargetId());
+        String note = "Auto-hidden by rule '" + rule.name() + "': " + rule.distinctReporters()
+            + " distinct reporters within " + rule.window().toMinutes() + " min";
+        closeTarget(target, ReportStatus.HIDDEN, ModerationActionType.AUTO_HIDE_LISTING, Report.SYSTEM_REPORTER_ID, note);
+    }
+
+    private double reporterFactor(UUID reporterId) {
+        if (Report.SYSTEM_REPORTER_ID.equals(reporterId)) {
+            return 1.0;
+        }
+        ReportRepository.ReporterHistory history = reportRepository.findReporterHistory(reporterId);
+        return ReportPriority.reporterFactor(ReportPriority.reputation(history.getUpheld(), history.getClosed()));
+    }
+
+    private Set<UUID> bulkIds(Collection<UUID> reportIds) {
+        if (reportIds == null || reportIds.isEmpty()) {
+            throw new IllegalArgumentException("reportIds must not be empty");
+        }
+        Set<UUID> ids = new LinkedHashSet<>(reportIds);
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " reports can be processed at once");
+        }
+        return ids;
+    }
+
+    private Map<UUID, Report> loadReports(Set<UUID> ids) {
+        Map<UUID, Report> reports = new HashMap<>();
+        reportRepository.findAllById(ids).forEach(report -> reports.put(report.getId(), report));
+        return reports;
+    }
+
+    /**
+     * Locks the aggregates of all given reports with one query per target type.
+     */
+    private Map<ReportTargetType, Map<UUID, ReportTarget>> lockTargets(Collection<Report> reports) {
+        Map<ReportTargetType, Set<UUID>> targetIds = new EnumMap<>(ReportTargetType.class);
+        reports.forEach(report -> targetIds
+            .computeIfAbsent(report.getTargetType(), type -> new HashSet<>())
+            .add(report.getTargetId()));
+        Map<ReportTargetType, Map<UUID, ReportTarget>> targets = new EnumMap<>(ReportTargetType.class);
+        targetIds.forEach((type, ids) -> {
+            Map<UUID, ReportTarget> byTargetId = new HashMap<>();
+            reportTargetRepository.findAllForUpdate(type, ids)
+                .forEach(target -> byTargetId.put(target.getTargetId(), target));
+            targets.put(type, byTargetId);
+        });
+        return targets;
+    }
+
+    private BulkModerationResult.Outcome checkBulkItem(
+            Report report, ReportTarget target, UUID moderatorId, LocalDateTime now) {
+        if (report == null) {
+            return BulkModerationResult.Outcome.NOT_FOUND;
+        }
+        if (report.getStatus() != ReportStatus.OPEN) {
+            return BulkModerationResult.Outcome.ALREADY_CLOSED;
+        }
+        if (target != null && target.isClaimedByOther(moderatorId, now)) {
+            return BulkModerationResult.Outcome.CLAIMED;
+        }
+        return BulkModerationResult.Outcome.DONE;
+    }
+
+    private void ensureNotClaimedByOther(ReportTarget target, UUID moderatorId) {
+        if (target.isClaimedByOther(moderatorId, LocalDateTime.now())) {
+            throw new ReportTargetClaimedException(target.getId(), target.getClaimExpiresAt());
+        }
+    }
+
+    private void hideTarget(ReportTarget target, UUID moderatorId, String note) {
+        ensureNotClaimedByOther(target, moderatorId);
+        if (target.getTargetType() != ReportTargetType.LISTING) {
+            throw new IllegalStateException("Report is not for a listing");
+        }
+        listingService.hide(target.getTargetId());
+        closeTarget(target, ReportStatus.HIDDEN, ModerationActionType.HIDE_LISTING, moderatorId, note);
+    }
+
+    /**
+     * One action row per linked report keeps the per-report history; the reports themselves
+     * are closed with a single update.
+     */
+    private void closeTarget(
+            ReportTarget target,
+            ReportStatus status,
+            ModerationActionType actionType,
+            UUID moderatorId,
+            String note) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReportRepository.OpenReport> openReports =
+            reportRepository.findOpenByTarget(target.getTargetType(), target.getTargetId());
+        metrics.firstAction(target, actionType.name(), now);
+        target.close(status);
+        actionRepository.saveAll(openReports.stream()
+            .map(open -> ModerationAction.create(reportRepository.getReferenceById(open.getId()), actionType, moderatorId, note))
+            .toList());
+        openReports.forEach(open -> metrics.reportClosed(
+            open.getReason(), target.getTargetType(), status, open.getCreatedAt(), now));
+        reportRepository.closeOpenByTarget(target.getTargetType(), target.getTargetId(), status, now);
+        autoModerationEngine.reset(target.getTargetId());
+    }
+
+    private LocalDateTime actionCreatedAt(UUID actionId) {
+        return actionRepository.findCreatedAt(actionId)
+            .orElseThrow(() -> new IllegalArgumentException("Moderation action not found: " + actionId));
+    }
+
+    private ReportTarget lockTarget(ReportTargetType targetType, UUID targetId) {
+        reportTargetRepository.insertIfAbsent(UUID.randomUUID(), targetType.name(), targetId, LocalDateTime.now());
+        return reportTargetRepository.findForUpdate(targetType, targetId)
+            .orElseThrow(() -> new IllegalStateException("Report target missing after insert: " + targetId));
+    }
+
+    private ReportTarget lockTarget(UUID reportTargetId) {
+        return reportTargetRepository.findByIdForUpdate(reportTargetId)
+            .orElseThrow(() -> new IllegalArgumentException("Report target not found: " + reportTargetId));
+    }
+
+    private ReportTarget getReportTarget(UUID reportTargetId) {
+        return reportTargetRepository.findById(reportTargetId)
+            .orElseThrow(() -> new IllegalArgumentException("Report target not found: " + reportTargetId));
+    }
+
+    private void validateTargetExists(ReportTargetType targetType, UUID targetId) {
+        if (!targetResolver.exists(targetType, targetId)) {
+            throw new IllegalArgumentException(switch (targetType) {
+                case LISTING -> "Listing not found: ";
+                case MESSAGE -> "Message not found: ";
+            } + targetId);
         }
     }
 
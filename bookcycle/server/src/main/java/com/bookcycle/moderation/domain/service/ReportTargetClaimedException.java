@@ -0,0 +1,26 @@
+package com.bookcycle.moderation.domain.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A moderator acted on a report target that another moderator currently holds a claim on.
+ */
+public class ReportTargetClaimedException extends RuntimeException {
+    private final UUID reportTargetId;
+    private final LocalDateTime claimExpiresAt;
+
+    public ReportTargetClaimedException(UUID reportTargetId, LocalDateTime claimExpiresAt) {
+        super("Report target " + reportTargetId + " is claimed by another moderator until " + claimExpiresAt);
+        this.reportTargetId = reportTargetId;
+        this.claimExpiresAt = claimExpiresAt;
+    }
+
+    public UUID getReportTargetId() {
+        return reportTargetId;
+    }
+
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+}
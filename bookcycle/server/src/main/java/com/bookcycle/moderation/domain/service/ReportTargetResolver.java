@@ -0,0 +1,148 @@
+package com.bookcycle.moderation.domain.service;
+
+import com.bookcycle.communication.infrastructure.archive.MessageArchiveReader;
+import com.bookcycle.communication.infrastructure.persistence.MessageRepository;
+import com.bookcycle.marketplace.domain.service.ListingService;
+import com.bookcycle.moderation.domain.model.ReportTargetLabel;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up reported targets: labels for moderation screens and existence for new reports.
+ *
+ * - One IN query per target type, so a page costs at most two queries however many rows it has;
+ *   messages moved to the chat archive cost one more lookup plus decoding their chunks
+ * - Labels are cached for a short time; a renamed listing shows its new title once the entry expires
+ * - Missing targets are cached as well, so neither page views nor reports against an unknown id
+ *   query again until the entry expires; existing targets are always re-checked for reports
+ */
+@Component
+public class ReportTargetResolver {
+    static final int EXCERPT_LENGTH = 120;
+
+    private final ListingService listingService;
+    private final MessageRepository messageRepository;
+    private final MessageArchiveReader messageArchiveReader;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<ReportTargetType, Map<UUID, CachedLabel>> cache = new EnumMap<>(ReportTargetType.class);
+
+    public ReportTargetResolver(
+            ListingService listingService,
+            MessageRepository messageRepository,
+            MessageArchiveReader messageArchiveReader,
+            @Value("${app.moderation.target-labels.ttl:PT1M}") Duration ttl,
+            @Value("${app.moderation.target-labels.max-entries:10000}") int maxEntries) {
+        this.listingService = listingService;
+        this.messageRepository = messageRepository;
+        this.messageArchiveReader = messageArchiveReader;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        for (ReportTargetType type : ReportTargetType.values()) {
+            cache.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Labels for the targets of the given items, keyed by target id.
+     */
+    public <T> Map<UUID, ReportTargetLabel> resolve(
+            Collection<T> items,
+            Function<T, ReportTargetType> targetType,
+            Function<T, UUID> targetId) {
+        Map<ReportTargetType, Set<UUID>> idsByType = new EnumMap<>(ReportTargetType.class);
+        items.forEach(item -> idsByType
+            .computeIfAbsent(targetType.apply(item), type -> new HashSet<>())
+            .add(targetId.apply(item)));
+
+        Map<UUID, ReportTargetLabel> labels = new HashMap<>();
+        long now = System.nanoTime();
+        idsByType.forEach((type, ids) -> {
+            Map<UUID, CachedLabel> typeCache = cache.get(type);
+            Set<UUID> missing = new HashSet<>();
+            for (UUID id : ids) {
+                CachedLabel cached = typeCache.get(id);
+                if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                    labels.put(id, cached.label());
+                } else {
+                    missing.add(id);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            Map<UUID, String> texts = load(type, missing);
+            for (UUID id : missing) {
+                ReportTargetLabel label = new ReportTargetLabel(type, id, texts.get(id));
+                labels.put(id, label);
+                typeCache.put(id, new CachedLabel(label, now));
+            }
+            trim(typeCache, now);
+        });
+        return labels;
+    }
+
+    /**
+     * Existence check without loading the target. A cached label is no proof: the target may
+     * have been deleted since, so only ids remembered as missing (ids are never reused) are
+     * answered from the cache; everything else is checked against the database.
+     */
+    public boolean exists(ReportTargetType targetType, UUID targetId) {
+        Map<UUID, CachedLabel> typeCache = cache.get(targetType);
+        long now = System.nanoTime();
+        CachedLabel cached = typeCache.get(targetId);
+        if (cached != null && !cached.label().exists() && now - cached.loadedAt() < ttlNanos) {
+            return false;
+        }
+        boolean exists = switch (targetType) {
+            case LISTING -> listingService.exists(targetId);
+            case MESSAGE -> messageRepository.existsById(targetId) || messageArchiveReader.exists(targetId);
+        };
+        if (!exists) {
+            typeCache.put(targetId, new CachedLabel(new ReportTargetLabel(targetType, targetId, null), now));
+            trim(typeCache, now);
+        }
+        return exists;
+    }
+
+    private Map<UUID, String> load(ReportTargetType type, Set<UUID> ids) {
+        return switch (type) {
+            case LISTING -> listingService.findTitles(ids);
+            case MESSAGE -> {
+                Map<UUID, String> excerpts = new HashMap<>();
+                messageRepository.findExcerpts(ids, EXCERPT_LENGTH)
+                    .forEach(message -> excerpts.put(message.getId(), message.getExcerpt()));
+                if (excerpts.size() < ids.size()) {
+                    Set<UUID> archived = new HashSet<>(ids);
+                    archived.removeAll(excerpts.keySet());
+                    excerpts.putAll(messageArchiveReader.findExcerpts(archived, EXCERPT_LENGTH));
+                }
+                yield excerpts;
+            }
+        };
+    }
+
+    private void trim(Map<UUID, CachedLabel> typeCache, long now) {
+        if (typeCache.size() <= maxEntries) {
+            return;
+        }
+        typeCache.values().removeIf(cached -> now - cached.loadedAt() >= ttlNanos);
+        if (typeCache.size() > maxEntries) {
+            typeCache.clear();
+        }
+    }
+
+    private record CachedLabel(ReportTargetLabel label, long loadedAt) {
+    }
+}
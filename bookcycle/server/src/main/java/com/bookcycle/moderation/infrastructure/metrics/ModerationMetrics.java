@@ -0,0 +1,87 @@
+package com.bookcycle.moderation.infrastructure.metrics;
+
+import com.bookcycle.moderation.domain.model.ReportReason;
+import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTarget;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Component;
+
+/**
+ * Report lifecycle metrics, recorded as decisions are made.
+ *
+ * - bookcycle.moderation.reports.created (counter; reason, target_type)
+ * - bookcycle.moderation.automatic-reports.failed (counter; target_type): automatic reports
+ *   that could not be filed
+ * - bookcycle.moderation.first-action (timer; reason, target_type, action): from the oldest open
+ *   report of a target nobody has acted on to the first claim or decision on that target
+ * - bookcycle.moderation.resolution (timer; reason, target_type, status): from filing to closing,
+ *   per report
+ *
+ * Both timers publish histogram buckets, including the 1h/4h/24h service levels.
+ */
+@Component
+public class ModerationMetrics {
+    private static final Duration[] SERVICE_LEVELS = {Duration.ofHours(1), Duration.ofHours(4), Duration.ofHours(24)};
+
+    private final MeterRegistry meterRegistry;
+
+    public ModerationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void reportCreated(ReportReason reason, ReportTargetType targetType) {
+        meterRegistry.counter("bookcycle.moderation.reports.created",
+            "reason", reason.name(), "target_type", targetType.name()).increment();
+    }
+
+    public void automaticReportFailed(ReportTargetType targetType) {
+        meterRegistry.counter("bookcycle.moderation.automatic-reports.failed",
+            "target_type", targetType.name()).increment();
+    }
+
+    /**
+     * Call before the claim or decision is applied to the target; later actions are ignored.
+     */
+    public void firstAction(ReportTarget target, String action, LocalDateTime now) {
+        if (target.getAwaitingSince() == null) {
+            return;
+        }
+        timer("bookcycle.moderation.first-action",
+            "reason", target.dominantReason().name(),
+            "target_type", target.getTargetType().name(),
+            "action", action)
+            .record(elapsed(target.getAwaitingSince(), now));
+    }
+
+    public void reportClosed(
+            ReportReason reason,
+            ReportTargetType targetType,
+            ReportStatus status,
+            LocalDateTime createdAt,
+            LocalDateTime closedAt) {
+        timer("bookcycle.moderation.resolution",
+            "reason", reason.name(),
+            "target_type", targetType.name(),
+            "status", status.name())
+            .record(elapsed(createdAt, closedAt));
+    }
+
+    private Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(SERVICE_LEVELS)
+            .minimumExpectedValue(Duration.ofSeconds(1))
+            .maximumExpectedValue(Duration.ofDays(30))
+            .register(meterRegistry);
+    }
+
+    private static Duration elapsed(LocalDateTime from, LocalDateTime to) {
+        Duration elapsed = Duration.between(from, to);
+        return elapsed.isNegative() ? Duration.ZERO : elapsed;
+    }
+}
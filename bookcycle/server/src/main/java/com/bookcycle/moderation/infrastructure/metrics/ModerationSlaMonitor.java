@@ -0,0 +1,118 @@
+package com.bookcycle.moderation.infrastructure.metrics;
+
+import com.bookcycle.moderation.domain.model.ModerationSlaSnapshot;
+import com.bookcycle.moderation.domain.model.ModerationSlaSnapshot.ReasonStats;
+import com.bookcycle.moderation.domain.model.ReportReason;
+import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.infrastructure.persistence.ReportRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the moderation SLA aggregate on a schedule, so the dashboard and the gauges never
+ * query the reports table themselves. The open-report figures come from grouped queries on
+ * idx_reports_status_created; resolution percentiles of reports closed within the window are
+ * aggregated by the database, so a refresh reads one row per reason.
+ *
+ * Metrics:
+ * - bookcycle.moderation.reports.open / .overdue (gauges)
+ * - bookcycle.moderation.reports.oldest-open.seconds (gauge)
+ */
+@Component
+public class ModerationSlaMonitor {
+    private final ReportRepository reportRepository;
+    private final Duration target;
+    private final Duration window;
+    private final AtomicReference<ModerationSlaSnapshot> snapshot = new AtomicReference<>();
+
+    public ModerationSlaMonitor(
+            ReportRepository reportRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.moderation.sla.target:PT24H}") Duration target,
+            @Value("${app.moderation.sla.window:P7D}") Duration window) {
+        this.reportRepository = reportRepository;
+        this.target = target;
+        this.window = window;
+        Gauge.builder("bookcycle.moderation.reports.open", this, monitor -> monitor.current().openReports())
+            .register(meterRegistry);
+        Gauge.builder("bookcycle.moderation.reports.overdue", this, monitor -> monitor.current().overdueReports())
+            .register(meterRegistry);
+        Gauge.builder("bookcycle.moderation.reports.oldest-open.seconds", this, monitor -> {
+                Duration age = monitor.current().oldestOpenAge();
+                return age == null ? 0 : age.toSeconds();
+            })
+            .register(meterRegistry);
+    }
+
+    /**
+     * Latest snapshot; computed on first use if the scheduled refresh has not run yet.
+     */
+    public ModerationSlaSnapshot current() {
+        ModerationSlaSnapshot current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.moderation.sla.refresh-interval:PT1M}")
+    public ModerationSlaSnapshot refresh() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<ReportReason, Long> open = new EnumMap<>(ReportReason.class);
+        LocalDateTime oldestOpenAt = null;
+        for (ReportRepository.OpenReasonStats stats : reportRepository.findOpenStatsByReason()) {
+            open.put(stats.getReason(), stats.getOpen());
+            if (oldestOpenAt == null || stats.getOldest().isBefore(oldestOpenAt)) {
+                oldestOpenAt = stats.getOldest();
+            }
+        }
+
+        Map<ReportReason, ReportRepository.ResolutionStats> resolution = new EnumMap<>(ReportReason.class);
+        ReportRepository.ResolutionStats allResolution = null;
+        for (ReportRepository.ResolutionStats stats : reportRepository.findResolutionStatsSince(now.minus(window))) {
+            if (stats.getReason() == null) {
+                allResolution = stats;
+            } else {
+                resolution.put(ReportReason.valueOf(stats.getReason()), stats);
+            }
+        }
+
+        List<ReasonStats> reasons = new ArrayList<>();
+        for (ReportReason reason : ReportReason.values()) {
+            reasons.add(stats(reason, open.getOrDefault(reason, 0L), resolution.get(reason)));
+        }
+        long openTotal = open.values().stream().mapToLong(Long::longValue).sum();
+
+        ModerationSlaSnapshot refreshed = new ModerationSlaSnapshot(
+            now,
+            target,
+            window,
+            openTotal,
+            reportRepository.countByStatusAndCreatedAtBefore(ReportStatus.OPEN, now.minus(target)),
+            oldestOpenAt,
+            stats(null, openTotal, allResolution),
+            reasons);
+        snapshot.set(refreshed);
+        return refreshed;
+    }
+
+    private static ReasonStats stats(ReportReason reason, long open, ReportRepository.ResolutionStats resolution) {
+        if (resolution == null) {
+            return new ReasonStats(reason, open, 0, null, null);
+        }
+        return new ReasonStats(
+            reason, open, resolution.getClosed(), seconds(resolution.getMedian()), seconds(resolution.getP90()));
+    }
+
+    private static Duration seconds(Double seconds) {
+        return seconds == null ? null : Duration.ofNanos(Math.round(seconds * 1_000_000_000L));
+    }
+}
@@ -0,0 +1,9 @@
+package com.bookcycle.moderation.infrastructure.persistence;
+
+import com.bookcycle.moderation.domain.model.BlockedTerm;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BlockedTermRepository extends JpaRepository<BlockedTerm, UUID> {
+    boolean existsByTerm(String term);
+}
@@ -1,8 +1,89 @@
 package com.bookcycle.moderation.infrastructure.persistence;
 
 import com.bookcycle.moderation.domain.model.ModerationAction;
+import com.bookcycle.moderation.domain.model.ModerationActionType;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+/**
+ * History queries are keyset-paginated over (created_at, id) and backed by
+ * idx_moderation_actions_report_created, _moderator_created and _created.
+ */
 public interface ModerationActionRepository extends JpaRepository<ModerationAction, UUID> {
+    interface ActionRow {
+        UUID getId();
+
+        UUID getReportId();
+
+        ReportTargetType getTargetType();
+
+        UUID getTargetId();
+
+        ModerationActionType getActionType();
+
+        UUID getModeratorId();
+
+        String getNote();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    String ROW = "select a.id as id, r.id as reportId, r.targetType as targetType, r.targetId as targetId, "
+        + "a.actionType as actionType, a.moderatorId as moderatorId, a.note as note, a.createdAt as createdAt "
+        + "from ModerationAction a join a.report r ";
+
+    @Query("select a.createdAt from ModerationAction a where a.id = :actionId")
+    Optional<LocalDateTime> findCreatedAt(@Param("actionId") UUID actionId);
+
+    @Query(ROW + "where r.id = :reportId order by a.createdAt desc, a.id desc")
+    List<ActionRow> findLatestByReport(@Param("reportId") UUID reportId, Pageable pageable);
+
+    @Query(ROW + "where r.id = :reportId "
+        + "and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :actionId)) "
+        + "order by a.createdAt desc, a.id desc")
+    List<ActionRow> findByReportBefore(
+        @Param("reportId") UUID reportId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("actionId") UUID actionId,
+        Pageable pageable);
+
+    @Query(ROW + "where a.moderatorId = :moderatorId order by a.createdAt desc, a.id desc")
+    List<ActionRow> findLatestByModerator(@Param("moderatorId") UUID moderatorId, Pageable pageable);
+
+    @Query(ROW + "where a.moderatorId = :moderatorId "
+        + "and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :actionId)) "
+        + "order by a.createdAt desc, a.id desc")
+    List<ActionRow> findByModeratorBefore(
+        @Param("moderatorId") UUID moderatorId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("actionId") UUID actionId,
+        Pageable pageable);
+
+    /**
+     * Export batch: actions after the (createdAt, actionId) position, oldest first, up to {@code until}.
+     */
+    @Query(ROW + "where (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :actionId)) "
+        + "and a.createdAt < :until order by a.createdAt, a.id")
+    List<ActionRow> findAfter(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("actionId") UUID actionId,
+        @Param("until") LocalDateTime until,
+        Pageable pageable);
+
+    @Query(ROW + "where a.moderatorId = :moderatorId "
+        + "and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :actionId)) "
+        + "and a.createdAt < :until order by a.createdAt, a.id")
+    List<ActionRow> findByModeratorAfter(
+        @Param("moderatorId") UUID moderatorId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("actionId") UUID actionId,
+        @Param("until") LocalDateTime until,
+        Pageable pageable);
 }
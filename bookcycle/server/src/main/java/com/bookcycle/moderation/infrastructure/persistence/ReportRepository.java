@@ -1,11 +1,135 @@
 package com.bookcycle.moderation.infrastructure.persistence;
 
 import com.bookcycle.moderation.domain.model.Report;
+import com.bookcycle.moderation.domain.model.ReportReason;
 import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ReportRepository extends JpaRepository<Report, UUID> {
-    List<Report> findByStatus(ReportStatus status);
+public interface ReportRepository extends JpaRepository<Report, UUID>, JpaSpecificationExecutor<Report> {
+    long countByStatus(ReportStatus status);
+
+    long countByStatusAndCreatedAtBefore(ReportStatus status, LocalDateTime createdBefore);
+
+    interface OpenReasonStats {
+        ReportReason getReason();
+
+        long getOpen();
+
+        LocalDateTime getOldest();
+    }
+
+    @Query("select r.reason as reason, count(r) as open, min(r.createdAt) as oldest from Report r "
+        + "where r.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN group by r.reason")
+    List<OpenReasonStats> findOpenStatsByReason();
+
+    interface ResolutionStats {
+        String getReason();
+
+        long getClosed();
+
+        Double getMedian();
+
+        Double getP90();
+    }
+
+    /**
+     * Resolution times in seconds of reports closed since the given time, per reason and
+     * (reason null) overall; a closed report's updated_at is its closing time. Percentiles
+     * are nearest-rank and computed in the database (idx_reports_closed_updated).
+     */
+    @Query(value = "select r.reason as reason, count(*) as closed, "
+        + "percentile_disc(0.5) within group (order by extract(epoch from r.updated_at - r.created_at)) as median, "
+        + "percentile_disc(0.9) within group (order by extract(epoch from r.updated_at - r.created_at)) as p90 "
+        + "from moderation.reports r where r.status <> 'OPEN' and r.updated_at >= :since group by r.reason "
+        + "union all "
+        + "select null, count(*), "
+        + "percentile_disc(0.5) within group (order by extract(epoch from r.updated_at - r.created_at)), "
+        + "percentile_disc(0.9) within group (order by extract(epoch from r.updated_at - r.created_at)) "
+        + "from moderation.reports r where r.status <> 'OPEN' and r.updated_at >= :since", nativeQuery = true)
+    List<ResolutionStats> findResolutionStatsSince(@Param("since") LocalDateTime since);
+
+    Optional<Report> findByTargetTypeAndTargetIdAndReporterId(ReportTargetType targetType, UUID targetId, UUID reporterId);
+
+    Page<Report> findByTargetTypeAndTargetId(ReportTargetType targetType, UUID targetId, Pageable pageable);
+
+    interface ReporterHistory {
+        long getUpheld();
+
+        long getClosed();
+    }
+
+    /**
+     * Outcome of the reporter's closed listing reports, input of the reputation factor.
+     */
+    @Query("select coalesce(sum(case when r.status = com.bookcycle.moderation.domain.model.ReportStatus.HIDDEN then 1 else 0 end), 0) as upheld, "
+        + "count(r) as closed from Report r where r.reporterId = :reporterId "
+        + "and r.targetType = com.bookcycle.moderation.domain.model.ReportTargetType.LISTING "
+        + "and r.status <> com.bookcycle.moderation.domain.model.ReportStatus.OPEN")
+    ReporterHistory findReporterHistory(@Param("reporterId") UUID reporterId);
+
+    /**
+     * Recent open reports of a target, oldest first; rebuilds the auto-moderation window.
+     * Reports a decision already closed never count again.
+     */
+    @Query("select r from Report r where r.targetType = :targetType and r.targetId = :targetId "
+        + "and r.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN "
+        + "and r.createdAt >= :since and r.reporterId <> :excludedReporterId order by r.createdAt")
+    List<Report> findRecentOpenByTarget(
+        @Param("targetType") ReportTargetType targetType,
+        @Param("targetId") UUID targetId,
+        @Param("since") LocalDateTime since,
+        @Param("excludedReporterId") UUID excludedReporterId);
+
+    interface OpenReport {
+        UUID getId();
+
+        ReportReason getReason();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    @Query("select r.id as id, r.reason as reason, r.createdAt as createdAt from Report r "
+        + "where r.targetType = :targetType and r.targetId = :targetId "
+        + "and r.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN")
+    List<OpenReport> findOpenByTarget(@Param("targetType") ReportTargetType targetType, @Param("targetId") UUID targetId);
+
+    @Query("select r.id as id, r.reason as reason, r.createdAt as createdAt from Report r "
+        + "where r.targetType = :targetType and r.targetId in :targetIds "
+        + "and r.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN")
+    List<OpenReport> findOpenByTargets(
+        @Param("targetType") ReportTargetType targetType,
+        @Param("targetIds") Collection<UUID> targetIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Report r set r.status = :status, r.updatedAt = :updatedAt "
+        + "where r.id in :ids and r.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN")
+    int closeOpenByIds(
+        @Param("ids") Collection<UUID> ids,
+        @Param("status") ReportStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Closes every open report of a target in one statement.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Report r set r.status = :status, r.updatedAt = :updatedAt "
+        + "where r.targetType = :targetType and r.targetId = :targetId "
+        + "and r.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN")
+    int closeOpenByTarget(
+        @Param("targetType") ReportTargetType targetType,
+        @Param("targetId") UUID targetId,
+        @Param("status") ReportStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,63 @@
+package com.bookcycle.moderation.infrastructure.persistence;
+
+import com.bookcycle.moderation.application.dto.ReportSearchCriteria;
+import com.bookcycle.moderation.domain.model.Report;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class ReportSpecifications {
+    private ReportSpecifications() {
+    }
+
+    public static Specification<Report> withCriteria(ReportSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria != null) {
+                if (criteria.getStatus() != null) {
+                    predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+                }
+
+                if (criteria.getTargetType() != null) {
+                    predicates.add(cb.equal(root.get("targetType"), criteria.getTargetType()));
+                }
+
+                if (criteria.getReason() != null) {
+                    predicates.add(cb.equal(root.get("reason"), criteria.getReason()));
+                }
+
+                if (criteria.getCreatedFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"),
+                        criteria.getCreatedFrom().atStartOfDay()));
+                }
+
+                // Half-open upper bound keeps the whole "to" day without fiddling with 23:59:59.999.
+                if (criteria.getCreatedTo() != null) {
+                    predicates.add(cb.lessThan(root.get("createdAt"),
+                        criteria.getCreatedTo().plusDays(1).atStartOfDay()));
+                }
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Queue orderings; every one ends on created_at so the composite indexes serve them and
+     * the id tie-breaker keeps pages stable.
+     */
+    public static Sort sort(String key) {
+        String normalized = key == null ? "newest" : key.toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "oldest" -> Sort.by(Sort.Direction.ASC, "createdAt", "id");
+            case "status" -> Sort.by(Sort.Order.asc("status"), Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            case "reason" -> Sort.by(Sort.Order.asc("reason"), Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            default -> Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        };
+    }
+}
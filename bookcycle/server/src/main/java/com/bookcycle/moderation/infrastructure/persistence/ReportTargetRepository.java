@@ -0,0 +1,84 @@
+package com.bookcycle.moderation.infrastructure.persistence;
+
+import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTarget;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface ReportTargetRepository extends JpaRepository<ReportTarget, UUID> {
+    /**
+     * Creates the empty aggregate of a target unless it exists; relies on
+     * uk_report_targets_target. ON CONFLICT DO NOTHING is understood by PostgreSQL and by
+     * H2 in PostgreSQL mode.
+     */
+    @Modifying
+    @Query(value = "insert into moderation.report_targets "
+        + "(id, target_type, target_id, status, report_count, open_report_count, distinct_reporters, "
+        + "spam_count, inappropriate_count, fraud_count, first_reported_at, last_reported_at, updated_at) "
+        + "values (:id, :targetType, :targetId, 'OPEN', 0, 0, 0, 0, 0, 0, :createdAt, :createdAt, :createdAt) "
+        + "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(
+        @Param("id") UUID id,
+        @Param("targetType") String targetType,
+        @Param("targetId") UUID targetId,
+        @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Row lock that serializes concurrent reports and decisions on the same target.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from ReportTarget t where t.targetType = :targetType and t.targetId = :targetId")
+    Optional<ReportTarget> findForUpdate(
+        @Param("targetType") ReportTargetType targetType,
+        @Param("targetId") UUID targetId);
+
+    /**
+     * Locks several targets at once, in id order so concurrent bulk actions cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from ReportTarget t where t.targetType = :targetType and t.targetId in :targetIds order by t.id")
+    List<ReportTarget> findAllForUpdate(
+        @Param("targetType") ReportTargetType targetType,
+        @Param("targetIds") Collection<UUID> targetIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from ReportTarget t where t.id = :id")
+    Optional<ReportTarget> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Next unclaimed (or lease-expired) open targets, row-locked with SKIP LOCKED so
+     * moderators claiming at the same time get disjoint batches instead of waiting on
+     * each other. Lock timeout -2 is Hibernate's SKIP LOCKED; dialects without it fall back
+     * to a plain FOR UPDATE.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select t from ReportTarget t where t.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN "
+        + "and (t.claimExpiresAt is null or t.claimExpiresAt < :now) order by t.priority desc, t.id")
+    List<ReportTarget> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from ReportTarget t where t.status = com.bookcycle.moderation.domain.model.ReportStatus.OPEN "
+        + "and t.claimedBy = :moderatorId and t.claimExpiresAt >= :now order by t.priority desc, t.id")
+    List<ReportTarget> findClaimedBy(@Param("moderatorId") UUID moderatorId, @Param("now") LocalDateTime now);
+
+    /**
+     * Moderator queue, highest priority first; served by idx_report_targets_status_priority.
+     */
+    @Query("select t from ReportTarget t where t.status = :status order by t.priority desc, t.id")
+    Page<ReportTarget> findQueue(@Param("status") ReportStatus status, Pageable pageable);
+}
@@ -1,15 +1,37 @@
 package com.bookcycle.moderation.presentation.rest;
 
+import com.bookcycle.moderation.application.dto.BlockedTermRequest;
+import com.bookcycle.moderation.application.dto.BlockedTermResponse;
+import com.bookcycle.moderation.application.dto.BulkModerationRequest;
+import com.bookcycle.moderation.application.dto.BulkModerationResponse;
+import com.bookcycle.moderation.application.dto.ClaimRequest;
+import com.bookcycle.moderation.application.dto.ModerationActionResponse;
 import com.bookcycle.moderation.application.dto.ModerationDecisionRequest;
 import com.bookcycle.moderation.application.dto.ReportResponse;
+import com.bookcycle.moderation.application.dto.ReportSearchCriteria;
+import com.bookcycle.moderation.application.dto.ReportTargetResponse;
+import com.bookcycle.moderation.application.dto.SimilarPhotoResponse;
 import com.bookcycle.moderation.application.service.ModerationApplicationService;
+import com.bookcycle.moderation.domain.model.ReportReason;
 import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import com.bookcycle.moderation.infrastructure.persistence.ReportSpecifications;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * User Story: US-006 Moderation Dashboard
@@ -18,11 +40,31 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/moderation")
 @RequiredArgsConstructor
 public class ModerationController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ModerationApplicationService moderationService;
 
     @GetMapping("/reports")
-    public ResponseEntity<List<ReportResponse>> list(@RequestParam(required = false) ReportStatus status) {
-        return ResponseEntity.ok(moderationService.listReports(status));
+    public ResponseEntity<Page<ReportResponse>> list(
+            @RequestParam(required = false) ReportStatus status,
+            @RequestParam(required = false) ReportTargetType targetType,
+            @RequestParam(required = false) ReportReason reason,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        ReportSearchCriteria criteria = new ReportSearchCriteria();
+        criteria.setStatus(status);
+        criteria.setTargetType(targetType);
+        criteria.setReason(reason);
+        criteria.setCreatedFrom(from);
+        criteria.setCreatedTo(to);
+
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), ReportSpecifications.sort(sort));
+        return ResponseEntity.ok(moderationService.searchReports(criteria, pageable));
     }
 
     @PostMapping("/reports/{id}/hide")
@@ -34,4 +76,134 @@ public class ModerationController {
     public ResponseEntity<ReportResponse> resolve(@PathVariable UUID id, @Valid @RequestBody ModerationDecisionRequest request) {
         return ResponseEntity.ok(moderationService.resolveReport(id, request));
     }
+
+    /**
+     * Processes up to 500 reports in one transaction and reports an outcome per id.
+     */
+    @PostMapping("/reports/bulk-resolve")
+    public ResponseEntity<BulkModerationResponse> bulkResolve(@Valid @RequestBody BulkModerationRequest request) {
+        return ResponseEntity.ok(moderationService.bulkResolve(request));
+    }
+
+    @PostMapping("/reports/bulk-hide")
+    public ResponseEntity<BulkModerationResponse> bulkHide(@Valid @RequestBody BulkModerationRequest request) {
+        return ResponseEntity.ok(moderationService.bulkHide(request));
+    }
+
+    /**
+     * Moderator queue: one item per reported listing or message, highest priority first.
+     */
+    @GetMapping("/report-targets")
+    public ResponseEntity<Page<ReportTargetResponse>> targets(
+            @RequestParam(defaultValue = "OPEN") ReportStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(moderationService.listReportTargets(status, pageable));
+    }
+
+    /**
+     * Leases the next batch of targets to a moderator; concurrent moderators get disjoint batches.
+     */
+    @PostMapping("/report-targets/claim")
+    public ResponseEntity<List<ReportTargetResponse>> claim(@Valid @RequestBody ClaimRequest request) {
+        return ResponseEntity.ok(moderationService.claimReportTargets(request));
+    }
+
+    @PostMapping("/report-targets/{id}/release")
+    public ResponseEntity<ReportTargetResponse> release(
+            @PathVariable UUID id,
+            @Valid @RequestBody ModerationDecisionRequest request) {
+        return ResponseEntity.ok(moderationService.releaseReportTarget(id, request));
+    }
+
+    @GetMapping("/report-targets/{id}/reports")
+    public ResponseEntity<Page<ReportResponse>> targetReports(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), ReportSpecifications.sort("newest"));
+        return ResponseEntity.ok(moderationService.listReportsForTarget(id, pageable));
+    }
+
+    @PostMapping("/report-targets/{id}/resolve")
+    public ResponseEntity<ReportTargetResponse> resolveTarget(
+            @PathVariable UUID id,
+            @Valid @RequestBody ModerationDecisionRequest request) {
+        return ResponseEntity.ok(moderationService.resolveReportTarget(id, request));
+    }
+
+    @PostMapping("/report-targets/{id}/hide")
+    public ResponseEntity<ReportTargetResponse> hideTarget(
+            @PathVariable UUID id,
+            @Valid @RequestBody ModerationDecisionRequest request) {
+        return ResponseEntity.ok(moderationService.hideReportTarget(id, request));
+    }
+
+    /**
+     * Photos of other listings whose perceptual hash is within {@code maxDistance} bits of one
+     * of this listing's photos, closest first.
+     */
+    @GetMapping("/listings/{id}/similar-photos")
+    public ResponseEntity<List<SimilarPhotoResponse>> similarPhotos(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Integer maxDistance) {
+        return ResponseEntity.ok(moderationService.findSimilarPhotos(id, maxDistance));
+    }
+
+    /**
+     * Action history of a report, newest first. Pass the id of the last action received as
+     * {@code before} to get the next page.
+     */
+    @GetMapping("/reports/{id}/actions")
+    public ResponseEntity<List<ModerationActionResponse>> reportActions(
+            @PathVariable UUID id,
+            @RequestParam(required = false) UUID before,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(moderationService.listActionsForReport(id, before, limit));
+    }
+
+    @GetMapping("/moderators/{moderatorId}/actions")
+    public ResponseEntity<List<ModerationActionResponse>> moderatorActions(
+            @PathVariable UUID moderatorId,
+            @RequestParam(required = false) UUID before,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(moderationService.listActionsByModerator(moderatorId, before, limit));
+    }
+
+    /**
+     * Streams all actions in [from, to) as NDJSON for audits, optionally for one moderator.
+     * Defaults to the last 30 days.
+     */
+    @GetMapping(value = "/actions/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportActions(
+            @RequestParam(required = false) UUID moderatorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        LocalDateTime since = from != null ? from : until.minusDays(30);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"moderation-actions.ndjson\"")
+            .body(moderationService.exportActions(moderatorId, since, until));
+    }
+
+    /**
+     * Blocklist of the chat content scanner.
+     */
+    @GetMapping("/blocklist")
+    public ResponseEntity<List<BlockedTermResponse>> blocklist() {
+        return ResponseEntity.ok(moderationService.listBlockedTerms());
+    }
+
+    @PostMapping("/blocklist")
+    public ResponseEntity<BlockedTermResponse> block(@Valid @RequestBody BlockedTermRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(moderationService.addBlockedTerm(request));
+    }
+
+    @DeleteMapping("/blocklist/{id}")
+    public ResponseEntity<Void> unblock(@PathVariable UUID id) {
+        moderationService.removeBlockedTerm(id);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,11 +1,24 @@
 package com.bookcycle.moderation.presentation.web;
 
 import com.bookcycle.identity.application.service.IdentityApplicationService;
+import com.bookcycle.identity.domain.model.UserAccount;
 import com.bookcycle.identity.infrastructure.persistence.UserAccountRepository;
 import com.bookcycle.marketplace.domain.service.ListingService;
+import com.bookcycle.moderation.application.dto.ReportSearchCriteria;
 import com.bookcycle.moderation.domain.service.ModerationService;
+import com.bookcycle.moderation.domain.service.ReportTargetResolver;
+import com.bookcycle.moderation.domain.model.BulkModerationResult;
+import com.bookcycle.moderation.domain.model.Report;
+import com.bookcycle.moderation.domain.model.ReportReason;
 import com.bookcycle.moderation.domain.model.ReportStatus;
+import com.bookcycle.moderation.domain.model.ReportTarget;
+import com.bookcycle.moderation.domain.model.ReportTargetType;
+import com.bookcycle.moderation.infrastructure.metrics.ModerationSlaMonitor;
+import com.bookcycle.moderation.infrastructure.persistence.ReportSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -17,7 +30,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * User Story: US-006 Moderation Dashboard
@@ -26,7 +42,11 @@ import java.util.Set;
 @RequestMapping("/admin")
 @RequiredArgsConstructor
 public class AdminPageController {
+    private static final int REPORTS_PAGE_SIZE = 50;
+
     private final ModerationService moderationService;
+    private final ReportTargetResolver targetResolver;
+    private final ModerationSlaMonitor slaMonitor;
     private final ListingService listingService;
     private final UserAccountRepository userAccountRepository;
     private final IdentityApplicationService identityApplicationService;
@@ -123,19 +143,80 @@ public class AdminPageController {
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
         model.addAttribute("currentPath", "/admin/dashboard");
-        model.addAttribute("openReports", moderationService.listReports(ReportStatus.OPEN).size());
+        model.addAttribute("openReports", moderationService.countReports(ReportStatus.OPEN));
+        model.addAttribute("sla", slaMonitor.current());
         model.addAttribute("publishedListings", listingService.countPublished());
         model.addAttribute("activeUsers", userAccountRepository.countByActiveTrue());
         return "dashboard";
     }
 
     @GetMapping("/reports")
-    public String reports(Model model) {
+    public String reports(
+            @ModelAttribute("criteria") ReportSearchCriteria criteria,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            Model model) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), REPORTS_PAGE_SIZE, ReportSpecifications.sort(sort));
+        Page<Report> reports = moderationService.searchReports(criteria, pageable);
         model.addAttribute("currentPath", "/admin/reports");
-        model.addAttribute("reports", moderationService.listReports(null));
+        model.addAttribute("reports", reports);
+        model.addAttribute("labels", targetResolver.resolve(
+            reports.getContent(), Report::getTargetType, Report::getTargetId));
+        model.addAttribute("sort", sort);
+        model.addAttribute("statuses", ReportStatus.values());
+        model.addAttribute("targetTypes", ReportTargetType.values());
+        model.addAttribute("reasons", ReportReason.values());
         return "reports";
     }
 
+    /**
+     * Applies one decision to the reports ticked on the current page. Reports that cannot be
+     * processed are counted and skipped; the rest are committed together.
+     */
+    @PostMapping("/reports/bulk")
+    public String bulkReports(
+            @RequestParam(name = "reportIds", required = false) List<UUID> reportIds,
+            @RequestParam String action,
+            @RequestParam(required = false) String note,
+            Authentication authentication,
+            RedirectAttributes redirectAttributes) {
+        if (reportIds == null || reportIds.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Select at least one report.");
+            return "redirect:/admin/reports";
+        }
+        UUID moderatorId = moderatorId(authentication);
+        try {
+            BulkModerationResult result = "hide".equals(action)
+                ? moderationService.bulkHide(reportIds, moderatorId, note)
+                : moderationService.bulkResolve(reportIds, moderatorId, note);
+            long skipped = result.items().size() - result.succeeded();
+            redirectAttributes.addFlashAttribute(
+                "successMessage",
+                result.succeeded() + " reports " + ("hide".equals(action) ? "hidden" : "resolved")
+                    + (skipped > 0 ? ", " + skipped + " skipped" : "") + "."
+            );
+        } catch (Exception ex) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Bulk action failed: " + ex.getMessage());
+        }
+        return "redirect:/admin/reports";
+    }
+
+    @GetMapping("/queue")
+    public String queue(
+            @RequestParam(defaultValue = "OPEN") ReportStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            Model model) {
+        Page<ReportTarget> targets = moderationService.listReportTargets(
+            status, PageRequest.of(Math.max(page, 0), REPORTS_PAGE_SIZE));
+        model.addAttribute("currentPath", "/admin/queue");
+        model.addAttribute("targets", targets);
+        model.addAttribute("labels", targetResolver.resolve(
+            targets.getContent(), ReportTarget::getTargetType, ReportTarget::getTargetId));
+        model.addAttribute("status", status);
+        model.addAttribute("statuses", ReportStatus.values());
+        return "queue";
+    }
+
     @GetMapping("/users")
     public String users(Model model) {
         model.addAttribute("currentPath", "/admin/users");
@@ -171,4 +252,15 @@ public class AdminPageController {
 
         return "redirect:/admin/users";
     }
+
+    /**
+     * Web admins sign in with their email; admins without a marketplace account still get a
+     * stable id so their actions can be told apart.
+     */
+    private UUID moderatorId(Authentication authentication) {
+        String email = authentication.getName();
+        return userAccountRepository.findByEmailValue(email)
+            .map(UserAccount::getId)
+            .orElseGet(() -> UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8)));
+    }
 }
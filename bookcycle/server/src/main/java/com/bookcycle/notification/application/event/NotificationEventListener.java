@@ -0,0 +1,57 @@
+package com.bookcycle.notification.application.event;
+
+import com.bookcycle.communication.application.event.MessageSentEvent;
+import com.bookcycle.communication.domain.model.Conversation;
+import com.bookcycle.communication.infrastructure.persistence.ConversationRepository;
+import com.bookcycle.notification.domain.model.NotificationType;
+import com.bookcycle.notification.domain.service.NotificationService;
+import com.bookcycle.trading.application.event.PurchaseUpdatedEvent;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns chat and trading events into outbox entries. Runs before commit so the entry is
+ * written atomically with the change that caused it.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationEventListener {
+    private final NotificationService notificationService;
+    private final ConversationRepository conversationRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        Conversation conversation = conversationRepository.findById(event.conversationId()).orElse(null);
+        if (conversation == null) {
+            return;
+        }
+        UUID senderId = event.message().getSenderId();
+        UUID recipientId = senderId.equals(conversation.getBuyerId())
+            ? conversation.getSellerId()
+            : conversation.getBuyerId();
+        notificationService.enqueue(recipientId, NotificationType.NEW_MESSAGE, event.conversationId(),
+            event.message().getContent(), event.message().getSentAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPurchaseUpdated(PurchaseUpdatedEvent event) {
+        switch (event.change()) {
+            case CHECKOUT -> notificationService.enqueue(event.sellerId(), NotificationType.CHECKOUT,
+                event.purchaseId(), "Your book was reserved by a buyer.");
+            case HANDOVER_UPDATED -> notifyBoth(event, "Handover details were updated.");
+            case BUYER_CONFIRMED -> notificationService.enqueue(event.sellerId(), NotificationType.HANDOVER_UPDATE,
+                event.purchaseId(), "The buyer confirmed the handover.");
+            case SELLER_CONFIRMED -> notificationService.enqueue(event.buyerId(), NotificationType.HANDOVER_UPDATE,
+                event.purchaseId(), "The seller confirmed the handover.");
+            case CANCELLED -> notifyBoth(event, "The purchase was cancelled.");
+        }
+    }
+
+    private void notifyBoth(PurchaseUpdatedEvent event, String summary) {
+        notificationService.enqueue(event.buyerId(), NotificationType.HANDOVER_UPDATE, event.purchaseId(), summary);
+        notificationService.enqueue(event.sellerId(), NotificationType.HANDOVER_UPDATE, event.purchaseId(), summary);
+    }
+}
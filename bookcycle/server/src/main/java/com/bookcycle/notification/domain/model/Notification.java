@@ -0,0 +1,124 @@
+package com.bookcycle.notification.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox entry for a user who was offline when something happened. Written in the same
+ * transaction as the triggering change; delivered later as part of a digest email.
+ */
+@Entity
+@Table(schema = "notification", name = "outbox")
+public class Notification {
+    public static final int SUMMARY_LENGTH = 300;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 30, nullable = false)
+    private NotificationType type;
+
+    // Conversation or purchase the notification is about; digests group by it.
+    @Column(name = "subject_id", nullable = false)
+    private UUID subjectId;
+
+    @Column(name = "summary", length = SUMMARY_LENGTH, nullable = false)
+    private String summary;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private NotificationStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Dispatch lease: the run that claimed the entry, free again once claim_expires_at has passed.
+    @Column(name = "claimed_by")
+    private UUID claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
+    protected Notification() {
+        // JPA
+    }
+
+    private Notification(UUID userId, NotificationType type, UUID subjectId, String summary, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.type = type;
+        this.subjectId = subjectId;
+        this.summary = summary.length() <= SUMMARY_LENGTH ? summary : summary.substring(0, SUMMARY_LENGTH - 1) + "…";
+        this.status = NotificationStatus.PENDING;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @param occurredAt when the change happened; for chat messages the sent_at, which the
+     *                   recipient's read cursor is compared against
+     */
+    public static Notification create(
+            UUID userId, NotificationType type, UUID subjectId, String summary, LocalDateTime occurredAt) {
+        return new Notification(userId, type, subjectId, summary, occurredAt);
+    }
+
+    public void claim(UUID dispatchId, LocalDateTime until) {
+        claimedBy = dispatchId;
+        claimExpiresAt = until;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public UUID getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public NotificationStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public UUID getClaimedBy() {
+        return claimedBy;
+    }
+
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+}
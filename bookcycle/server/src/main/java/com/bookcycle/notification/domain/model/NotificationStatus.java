@@ -0,0 +1,7 @@
+package com.bookcycle.notification.domain.model;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    DISCARDED
+}
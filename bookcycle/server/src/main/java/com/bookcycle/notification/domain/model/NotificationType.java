@@ -0,0 +1,7 @@
+package com.bookcycle.notification.domain.model;
+
+public enum NotificationType {
+    NEW_MESSAGE,
+    CHECKOUT,
+    HANDOVER_UPDATE
+}
@@ -0,0 +1,174 @@
+package com.bookcycle.notification.domain.service;
+
+import com.bookcycle.communication.domain.model.Conversation;
+import com.bookcycle.communication.infrastructure.persistence.ConversationRepository;
+import com.bookcycle.identity.domain.model.UserAccount;
+import com.bookcycle.identity.infrastructure.persistence.UserAccountRepository;
+import com.bookcycle.notification.domain.model.Notification;
+import com.bookcycle.notification.domain.model.NotificationStatus;
+import com.bookcycle.notification.domain.model.NotificationType;
+import com.bookcycle.notification.infrastructure.mail.MailMessage;
+import com.bookcycle.notification.infrastructure.persistence.NotificationRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Coalesces pending notifications into one digest email per user. A user becomes due once
+ * their oldest pending notification is a full digest window old, so everything that arrived
+ * in the meantime goes out together.
+ *
+ * Notifications are claimed for a lease before the mail is sent, so dispatchers on several
+ * nodes never build the same digest; entries of a failed delivery are picked up again once
+ * the lease has run out.
+ */
+@Service
+public class NotificationDigestService {
+    private final NotificationRepository notificationRepository;
+    private final UserAccountRepository userAccountRepository;
+    private final ConversationRepository conversationRepository;
+    private final Duration claimLease;
+
+    public NotificationDigestService(
+            NotificationRepository notificationRepository,
+            UserAccountRepository userAccountRepository,
+            ConversationRepository conversationRepository,
+            @Value("${app.notifications.claim-lease:PT5M}") Duration claimLease) {
+        this.notificationRepository = notificationRepository;
+        this.userAccountRepository = userAccountRepository;
+        this.conversationRepository = conversationRepository;
+        this.claimLease = claimLease;
+    }
+
+    public record Digest(MailMessage message, List<UUID> notificationIds) {
+    }
+
+    /**
+     * Claims the pending notifications of up to {@code limit} due users and builds their
+     * digests. Notifications of users without an active account, and chat messages the
+     * recipient has read since, are discarded.
+     */
+    @Transactional
+    public List<Digest> prepareDue(LocalDateTime dueBefore, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> recipients = notificationRepository.findDueRecipients(dueBefore, now, PageRequest.of(0, limit));
+        if (recipients.isEmpty()) {
+            return List.of();
+        }
+        UUID dispatchId = UUID.randomUUID();
+        List<Notification> claimed = notificationRepository.findClaimable(recipients, now);
+        claimed.forEach(notification -> notification.claim(dispatchId, now.plus(claimLease)));
+
+        List<UUID> discarded = new ArrayList<>();
+        Map<UUID, List<Notification>> byUser = unread(claimed, discarded).stream()
+            .collect(Collectors.groupingBy(Notification::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Digest> digests = new ArrayList<>(byUser.size());
+        for (Map.Entry<UUID, List<Notification>> entry : byUser.entrySet()) {
+            List<UUID> ids = entry.getValue().stream().map(Notification::getId).toList();
+            Optional<UserAccount> account = userAccountRepository.findByIdAndActiveTrue(entry.getKey());
+            if (account.isEmpty()) {
+                discarded.addAll(ids);
+                continue;
+            }
+            digests.add(new Digest(toMail(account.get(), entry.getValue()), ids));
+        }
+        if (!discarded.isEmpty()) {
+            notificationRepository.markProcessed(discarded, NotificationStatus.DISCARDED, LocalDateTime.now());
+        }
+        return digests;
+    }
+
+    @Transactional
+    public int markSent(Collection<UUID> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        return notificationRepository.markProcessed(notificationIds, NotificationStatus.SENT, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return notificationRepository.countByStatus(NotificationStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> oldestPending() {
+        return notificationRepository.findOldestPendingCreatedAt();
+    }
+
+    /**
+     * Leaves out chat messages at or before the recipient's read cursor of the conversation;
+     * their ids are added to {@code discarded}.
+     */
+    private List<Notification> unread(List<Notification> notifications, List<UUID> discarded) {
+        List<UUID> conversationIds = notifications.stream()
+            .filter(n -> n.getType() == NotificationType.NEW_MESSAGE)
+            .map(Notification::getSubjectId)
+            .distinct()
+            .toList();
+        if (conversationIds.isEmpty()) {
+            return notifications;
+        }
+        Map<UUID, Conversation> conversations = conversationRepository.findAllById(conversationIds).stream()
+            .collect(Collectors.toMap(Conversation::getId, Function.identity()));
+        List<Notification> unread = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            Conversation conversation = notification.getType() == NotificationType.NEW_MESSAGE
+                ? conversations.get(notification.getSubjectId())
+                : null;
+            LocalDateTime readAt = conversation != null ? conversation.lastReadAtFor(notification.getUserId()) : null;
+            if (readAt != null && !notification.getCreatedAt().isAfter(readAt)) {
+                discarded.add(notification.getId());
+            } else {
+                unread.add(notification);
+            }
+        }
+        return unread;
+    }
+
+    private MailMessage toMail(UserAccount account, List<Notification> notifications) {
+        String subject = notifications.size() == 1
+            ? "Bookcycle: 1 new update"
+            : "Bookcycle: " + notifications.size() + " new updates";
+
+        StringBuilder body = new StringBuilder()
+            .append("Hello ").append(account.getProfile().getDisplayName().getValue()).append(",\n\n")
+            .append("this happened on Bookcycle while you were away:\n\n");
+
+        // One line per conversation for chat messages, one line per distinct purchase update.
+        Map<UUID, List<Notification>> bySubject = notifications.stream()
+            .collect(Collectors.groupingBy(Notification::getSubjectId, LinkedHashMap::new, Collectors.toList()));
+        for (List<Notification> group : bySubject.values()) {
+            List<Notification> messages = group.stream()
+                .filter(n -> n.getType() == NotificationType.NEW_MESSAGE)
+                .toList();
+            if (!messages.isEmpty()) {
+                Notification latest = messages.get(messages.size() - 1);
+                body.append("- ")
+                    .append(messages.size() == 1 ? "1 new message" : messages.size() + " new messages")
+                    .append(": \"").append(latest.getSummary()).append("\"\n");
+            }
+            group.stream()
+                .filter(n -> n.getType() != NotificationType.NEW_MESSAGE)
+                .map(Notification::getSummary)
+                .distinct()
+                .forEach(summary -> body.append("- ").append(summary).append('\n'));
+        }
+        body.append("\nOpen Bookcycle to reply.\n");
+
+        return new MailMessage(account.getId(), account.getEmail().getValue(), subject, body.toString());
+    }
+}
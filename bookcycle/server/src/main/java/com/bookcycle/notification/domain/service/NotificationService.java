@@ -0,0 +1,42 @@
+package com.bookcycle.notification.domain.service;
+
+import com.bookcycle.notification.domain.model.Notification;
+import com.bookcycle.notification.domain.model.NotificationType;
+import com.bookcycle.notification.infrastructure.persistence.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Queues notifications for the next digest. Whether the user is connected is not decided
+ * here: presence is per node, and a user connected to another node would look offline.
+ * Instead the digest leaves out chat messages the recipient has read in the meantime.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+    private final NotificationRepository notificationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.enabled:true}")
+    private boolean enabled;
+
+    @Transactional
+    public boolean enqueue(UUID userId, NotificationType type, UUID subjectId, String summary) {
+        return enqueue(userId, type, subjectId, summary, LocalDateTime.now());
+    }
+
+    @Transactional
+    public boolean enqueue(UUID userId, NotificationType type, UUID subjectId, String summary, LocalDateTime occurredAt) {
+        if (!enabled || userId == null) {
+            return false;
+        }
+        notificationRepository.save(Notification.create(userId, type, subjectId, summary, occurredAt));
+        meterRegistry.counter("bookcycle.notifications.enqueued", "type", type.name()).increment();
+        return true;
+    }
+}
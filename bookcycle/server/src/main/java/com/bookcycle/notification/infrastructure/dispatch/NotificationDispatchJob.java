@@ -0,0 +1,111 @@
+package com.bookcycle.notification.infrastructure.dispatch;
+
+import com.bookcycle.notification.domain.service.NotificationDigestService;
+import com.bookcycle.notification.domain.service.NotificationDigestService.Digest;
+import com.bookcycle.notification.infrastructure.mail.MailMessage;
+import com.bookcycle.notification.infrastructure.mail.MailTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends due digests in batches. Mail goes out outside of any transaction; notifications are
+ * only marked sent afterwards, so a failed delivery is retried once its claim lease expires.
+ * Runs on every node; the claims keep the nodes' batches disjoint.
+ *
+ * Metrics:
+ * - bookcycle.notifications.sent / .digests / .failed (counters)
+ * - bookcycle.notifications.pending and .lag.seconds (gauges, refreshed each run)
+ * - bookcycle.notifications.dispatch (timer per run)
+ */
+@Component
+public class NotificationDispatchJob {
+    private final NotificationDigestService digestService;
+    private final MailTransport mailTransport;
+    private final Timer dispatchTimer;
+    private final Counter sentCounter;
+    private final Counter digestCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${app.notifications.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.digest-window:PT15M}")
+    private Duration digestWindow;
+
+    @Value("${app.notifications.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.notifications.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    public NotificationDispatchJob(
+        NotificationDigestService digestService,
+        MailTransport mailTransport,
+        MeterRegistry meterRegistry
+    ) {
+        this.digestService = digestService;
+        this.mailTransport = mailTransport;
+        this.dispatchTimer = meterRegistry.timer("bookcycle.notifications.dispatch");
+        this.sentCounter = meterRegistry.counter("bookcycle.notifications.sent");
+        this.digestCounter = meterRegistry.counter("bookcycle.notifications.digests");
+        this.failedCounter = meterRegistry.counter("bookcycle.notifications.failed");
+        Gauge.builder("bookcycle.notifications.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("bookcycle.notifications.lag.seconds", lagSeconds, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch-interval:PT1M}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        dispatchTimer.record(this::dispatchDue);
+        refreshGauges();
+    }
+
+    private void dispatchDue() {
+        LocalDateTime dueBefore = LocalDateTime.now().minus(digestWindow);
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Digest> digests = digestService.prepareDue(dueBefore, batchSize);
+            if (digests.isEmpty()) {
+                return;
+            }
+            List<MailMessage> failed = mailTransport.send(digests.stream().map(Digest::message).toList());
+            Set<UUID> failedRecipients = failed.stream().map(MailMessage::recipientId).collect(Collectors.toSet());
+
+            List<Digest> delivered = digests.stream()
+                .filter(digest -> !failedRecipients.contains(digest.message().recipientId()))
+                .toList();
+            int sent = digestService.markSent(
+                delivered.stream().flatMap(digest -> digest.notificationIds().stream()).toList());
+            sentCounter.increment(sent);
+            digestCounter.increment(delivered.size());
+            failedCounter.increment(failed.size());
+
+            // Failed recipients stay claimed until the lease expires; the mail server is likely struggling.
+            if (!failed.isEmpty() || digests.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void refreshGauges() {
+        pending.set(digestService.countPending());
+        lagSeconds.set(digestService.oldestPending()
+            .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()))
+            .orElse(0L));
+    }
+}
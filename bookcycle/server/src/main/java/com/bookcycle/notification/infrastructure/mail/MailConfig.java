@@ -0,0 +1,28 @@
+package com.bookcycle.notification.infrastructure.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+@Configuration
+public class MailConfig {
+
+    /**
+     * Replaced by declaring another MailTransport bean (e.g. a provider HTTP API).
+     */
+    @Bean
+    @ConditionalOnMissingBean(MailTransport.class)
+    public MailTransport mailTransport(
+        @Value("${app.mail.smtp.host:mailpit}") String host,
+        @Value("${app.mail.smtp.port:1025}") int port,
+        @Value("${app.mail.smtp.from:noreply@bookcycle.local}") String from
+    ) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(host);
+        sender.setPort(port);
+        sender.setDefaultEncoding("UTF-8");
+        return new SmtpMailTransport(sender, from);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bookcycle.notification.infrastructure.mail;
+
+import java.util.UUID;
+
+/**
+ * Plain-text email to one recipient.
+ */
+public record MailMessage(UUID recipientId, String to, String subject, String body) {
+}
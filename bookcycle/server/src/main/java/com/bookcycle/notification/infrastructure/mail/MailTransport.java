@@ -0,0 +1,13 @@
+package com.bookcycle.notification.infrastructure.mail;
+
+import java.util.List;
+
+/**
+ * Delivers a batch of emails, ideally over a single connection.
+ */
+public interface MailTransport {
+    /**
+     * @return the messages that could not be delivered
+     */
+    List<MailMessage> send(List<MailMessage> messages);
+}
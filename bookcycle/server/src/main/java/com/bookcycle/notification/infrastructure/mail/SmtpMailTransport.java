@@ -0,0 +1,56 @@
+package com.bookcycle.notification.infrastructure.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * SMTP delivery (Mailpit locally). The batch is handed over in one call, which
+ * JavaMailSenderImpl sends over one connection.
+ */
+public class SmtpMailTransport implements MailTransport {
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpMailTransport(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public List<MailMessage> send(List<MailMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        SimpleMailMessage[] mails = messages.stream().map(this::toMail).toArray(SimpleMailMessage[]::new);
+        try {
+            mailSender.send(mails);
+            return List.of();
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                return messages;
+            }
+            List<MailMessage> failed = new ArrayList<>();
+            for (int i = 0; i < mails.length; i++) {
+                if (ex.getFailedMessages().containsKey(mails[i])) {
+                    failed.add(messages.get(i));
+                }
+            }
+            return failed;
+        } catch (MailException ex) {
+            return messages;
+        }
+    }
+
+    private SimpleMailMessage toMail(MailMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.to());
+        mail.setSubject(message.subject());
+        mail.setText(message.body());
+        return mail;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bookcycle.notification.infrastructure.persistence;
+
+import com.bookcycle.notification.domain.model.Notification;
+import com.bookcycle.notification.domain.model.NotificationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationRepository extends JpaRepository<Notification, UUID> {
+    /**
+     * Users whose oldest unclaimed pending notification is at least one digest window old.
+     */
+    @Query("select n.userId from Notification n where n.status = com.bookcycle.notification.domain.model.NotificationStatus.PENDING "
+        + "and (n.claimExpiresAt is null or n.claimExpiresAt < :now) "
+        + "group by n.userId having min(n.createdAt) <= :dueBefore order by min(n.createdAt)")
+    List<UUID> findDueRecipients(
+        @Param("dueBefore") LocalDateTime dueBefore,
+        @Param("now") LocalDateTime now,
+        Pageable pageable);
+
+    /**
+     * Unclaimed (or lease-expired) pending notifications of the given users, row-locked with
+     * SKIP LOCKED so dispatchers on different nodes claim disjoint sets instead of mailing the
+     * same digest twice. Lock timeout -2 is Hibernate's SKIP LOCKED.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from Notification n where n.userId in :userIds "
+        + "and n.status = com.bookcycle.notification.domain.model.NotificationStatus.PENDING "
+        + "and (n.claimExpiresAt is null or n.claimExpiresAt < :now) order by n.createdAt")
+    List<Notification> findClaimable(@Param("userIds") Collection<UUID> userIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Notification n set n.status = :status, n.processedAt = :processedAt "
+        + "where n.id in :ids and n.status = com.bookcycle.notification.domain.model.NotificationStatus.PENDING")
+    int markProcessed(
+        @Param("ids") Collection<UUID> ids,
+        @Param("status") NotificationStatus status,
+        @Param("processedAt") LocalDateTime processedAt);
+
+    @Query("select min(n.createdAt) from Notification n "
+        + "where n.status = com.bookcycle.notification.domain.model.NotificationStatus.PENDING")
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+    long countByStatus(NotificationStatus status);
+}
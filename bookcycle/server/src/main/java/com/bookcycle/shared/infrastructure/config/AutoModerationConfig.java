@@ -0,0 +1,13 @@
+package com.bookcycle.shared.infrastructure.config;
+
+import com.bookcycle.moderation.domain.service.AutoModerationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-hide rules evaluated on every new listing report.
+ */
+@Configuration
+@EnableConfigurationProperties(AutoModerationProperties.class)
+public class AutoModerationConfig {
+}
@@ -0,0 +1,20 @@
+package com.bookcycle.shared.infrastructure.config;
+
+import com.bookcycle.shared.infrastructure.ratelimit.RateLimitProperties;
+import com.bookcycle.shared.infrastructure.ratelimit.RateLimiter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-user rate limits; the filter itself is added to the API filter chain in SecurityConfig.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties) {
+        return new RateLimiter(properties);
+    }
+}
@@ -1,5 +1,9 @@
 package com.bookcycle.shared.infrastructure.config;
 
+import com.bookcycle.shared.infrastructure.ratelimit.RateLimitFilter;
+import com.bookcycle.shared.infrastructure.ratelimit.RateLimitProperties;
+import com.bookcycle.shared.infrastructure.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -17,6 +21,9 @@ import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.oauth2.server.resource.authentication.JwtIssuerAuthenticationManagerResolver;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.web.cors.CorsConfiguration;
@@ -34,6 +41,8 @@ import java.util.Map;
  * Security Configuration
  *
  * - API: JWT resource server (stateless)
+ * - Chat WebSocket: JWT-authenticated handshake
+ * - Rate limits: token buckets per user after bearer authentication
  * - Admin Webapp: OAuth2 login with Keycloak (session)
  */
 @Configuration
@@ -45,9 +54,12 @@ public class SecurityConfig {
     @Order(1)
     public SecurityFilterChain apiFilterChain(
             HttpSecurity http,
-            AuthenticationManagerResolver<HttpServletRequest> authenticationManagerResolver) throws Exception {
+            AuthenticationManagerResolver<HttpServletRequest> authenticationManagerResolver,
+            RateLimiter rateLimiter,
+            RateLimitProperties rateLimitProperties,
+            ObjectMapper objectMapper) throws Exception {
         http
-            .securityMatcher("/api/**", "/health/**", "/actuator/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**")
+            .securityMatcher("/api/**", "/ws/**", "/health/**", "/actuator/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**")
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -58,6 +70,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/auth/password-reset/confirm").permitAll()
                 .requestMatchers("/api/v1/listings/**").permitAll()
                 .requestMatchers("/api/v1/purchases/**").permitAll()
+                .requestMatchers("/api/v1/conversations/search").authenticated()
                 .requestMatchers("/api/v1/conversations/**").permitAll()
                 .requestMatchers("/api/v1/reports/**").permitAll()
                 .requestMatchers("/api/v1/moderation/**").permitAll()
@@ -73,8 +86,14 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
+                .bearerTokenResolver(bearerTokenResolver())
                 .authenticationManagerResolver(authenticationManagerResolver)
             );
+        if (rateLimitProperties.enabled()) {
+            http.addFilterAfter(
+                new RateLimitFilter(rateLimiter, rateLimitProperties, objectMapper),
+                BearerTokenAuthenticationFilter.class);
+        }
 
         return http.build();
     }
@@ -132,6 +151,20 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * Browsers cannot set headers on a WebSocket handshake, so the chat endpoint
+     * additionally accepts the token as access_token query parameter.
+     */
+    @Bean
+    public BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+        DefaultBearerTokenResolver handshakeResolver = new DefaultBearerTokenResolver();
+        handshakeResolver.setAllowUriQueryParameter(true);
+        return request -> request.getRequestURI().startsWith("/ws/")
+            ? handshakeResolver.resolve(request)
+            : headerResolver.resolve(request);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,74 @@
+package com.bookcycle.shared.infrastructure.config;
+
+import com.bookcycle.communication.infrastructure.realtime.ChatDestinations;
+import com.bookcycle.communication.infrastructure.realtime.ConversationSubscriptionInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket for the chat push channel.
+ *
+ * - Handshake: authenticated by the API filter chain (Keycloak JWT)
+ * - Broker: in-memory by default, external STOMP broker relay for multi-node deployments
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final ConversationSubscriptionInterceptor conversationSubscriptionInterceptor;
+
+    @Value("${app.chat.websocket.endpoint:/ws/chat}")
+    private String endpoint;
+
+    @Value("${app.chat.websocket.allowed-origin-patterns:http://localhost:*}")
+    private String[] allowedOriginPatterns;
+
+    @Value("${app.chat.websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${app.chat.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.chat.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.chat.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.chat.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    public WebSocketConfig(ConversationSubscriptionInterceptor conversationSubscriptionInterceptor) {
+        this.conversationSubscriptionInterceptor = conversationSubscriptionInterceptor;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint(endpoint).setAllowedOriginPatterns(allowedOriginPatterns);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes(ChatDestinations.APPLICATION_PREFIX);
+        if (relayEnabled) {
+            registry.enableStompBrokerRelay(ChatDestinations.TOPIC_PREFIX)
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode);
+        } else {
+            registry.enableSimpleBroker(ChatDestinations.TOPIC_PREFIX);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(conversationSubscriptionInterceptor);
+    }
+}
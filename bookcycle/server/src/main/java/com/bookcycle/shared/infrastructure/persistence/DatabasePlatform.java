@@ -0,0 +1,28 @@
+package com.bookcycle.shared.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which database the application talks to. Production runs on PostgreSQL; tests run on H2,
+ * so PostgreSQL-only SQL (partitions, full-text search) is guarded by {@link #isPostgres()}.
+ * Looked up once on first use.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabasePlatform {
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+}
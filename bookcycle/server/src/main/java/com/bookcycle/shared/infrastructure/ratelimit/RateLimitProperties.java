@@ -0,0 +1,29 @@
+package com.bookcycle.shared.infrastructure.ratelimit;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.rate-limit: token buckets per endpoint group.
+ *
+ * @param stripes buckets per group; users hashing to the same stripe share a bucket
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(boolean enabled, int stripes, Map<String, Group> groups) {
+    private static final int DEFAULT_STRIPES = 65536;
+
+    public RateLimitProperties {
+        stripes = stripes > 0 ? stripes : DEFAULT_STRIPES;
+        groups = groups != null ? groups : Map.of();
+    }
+
+    /**
+     * @param method          HTTP method the group applies to
+     * @param paths           Ant-style path patterns
+     * @param capacity        burst size (bucket capacity)
+     * @param refillPerMinute tokens added per minute
+     */
+    public record Group(String method, List<String> paths, int capacity, int refillPerMinute) {
+    }
+}
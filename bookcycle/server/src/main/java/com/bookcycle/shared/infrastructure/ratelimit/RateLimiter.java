@@ -0,0 +1,82 @@
+package com.bookcycle.shared.infrastructure.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token buckets with lazy refill and fixed memory.
+ *
+ * Each bucket is a single long holding its "theoretical arrival time" (GCRA, equivalent to
+ * a token bucket): refill is computed from the clock on access instead of by a timer, and
+ * a request is admitted with one CAS. Buckets live in a fixed AtomicLongArray per group,
+ * indexed by the hashed key, so memory does not grow with the number of users.
+ */
+public class RateLimiter {
+    private final Map<String, Buckets> groups = new LinkedHashMap<>();
+    private final long origin = System.nanoTime();
+
+    public RateLimiter(RateLimitProperties properties) {
+        int stripes = Integer.highestOneBit(Math.max(1, properties.stripes()));
+        properties.groups().forEach((name, group) -> {
+            if (group.capacity() < 1 || group.refillPerMinute() < 1) {
+                throw new IllegalArgumentException("Rate limit group " + name + " needs capacity and refill-per-minute >= 1");
+            }
+            groups.put(name, new Buckets(stripes, group.capacity(), group.refillPerMinute()));
+        });
+    }
+
+    /**
+     * Takes one token from the key's bucket in the group.
+     *
+     * @return 0 if admitted, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String group, String key) {
+        Buckets buckets = groups.get(group);
+        if (buckets == null) {
+            return 0;
+        }
+        return buckets.tryAcquire(stripe(key, buckets.mask), System.nanoTime() - origin + 1);
+    }
+
+    private static int stripe(String key, int mask) {
+        // murmur3 finalizer: spreads similar keys (e.g. sequential ids) over the stripes
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+
+    private static final class Buckets {
+        private final AtomicLongArray arrivalTimes;
+        private final int mask;
+        // Nanoseconds per token and the burst tolerance (capacity tokens).
+        private final long interval;
+        private final long tolerance;
+
+        Buckets(int stripes, int capacity, int refillPerMinute) {
+            this.arrivalTimes = new AtomicLongArray(stripes);
+            this.mask = stripes - 1;
+            this.interval = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            this.tolerance = interval * capacity;
+        }
+
+        long tryAcquire(int index, long now) {
+            while (true) {
+                long arrival = arrivalTimes.get(index);
+                long next = Math.max(arrival, now) + interval;
+                long wait = next - now - tolerance;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (arrivalTimes.compareAndSet(index, arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
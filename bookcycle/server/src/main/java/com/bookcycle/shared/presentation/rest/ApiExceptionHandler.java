@@ -1,5 +1,6 @@
 package com.bookcycle.shared.presentation.rest;
 
+import com.bookcycle.moderation.domain.service.ReportTargetClaimedException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import java.time.OffsetDateTime;
@@ -65,6 +66,17 @@ public class ApiExceptionHandler {
                 .body(errorBody(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()));
     }
 
+    /**
+     * Another moderator holds the claim on the report target.
+     */
+    @ExceptionHandler(ReportTargetClaimedException.class)
+    public ResponseEntity<Map<String, Object>> handleReportTargetClaimed(
+            ReportTargetClaimedException ex,
+            HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(errorBody(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI()));
+    }
+
     private String formatFieldError(FieldError fieldError) {
         String field = fieldError.getField();
         String message = fieldError.getDefaultMessage();
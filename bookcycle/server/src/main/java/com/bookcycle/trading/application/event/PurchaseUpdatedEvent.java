@@ -0,0 +1,16 @@
+package com.bookcycle.trading.application.event;
+
+import java.util.UUID;
+
+/**
+ * Published inside the purchase transaction after each state change.
+ */
+public record PurchaseUpdatedEvent(UUID purchaseId, UUID listingId, UUID buyerId, UUID sellerId, Change change) {
+    public enum Change {
+        CHECKOUT,
+        HANDOVER_UPDATED,
+        BUYER_CONFIRMED,
+        SELLER_CONFIRMED,
+        CANCELLED
+    }
+}
@@ -3,10 +3,13 @@ package com.bookcycle.trading.application.service;
 import com.bookcycle.trading.application.dto.CheckoutRequest;
 import com.bookcycle.trading.application.dto.HandoverUpdateRequest;
 import com.bookcycle.trading.application.dto.PurchaseResponse;
+import com.bookcycle.trading.application.event.PurchaseUpdatedEvent;
+import com.bookcycle.trading.application.event.PurchaseUpdatedEvent.Change;
 import com.bookcycle.trading.domain.model.HandoverProtocol;
 import com.bookcycle.trading.domain.model.Purchase;
 import com.bookcycle.trading.domain.service.CheckoutService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +19,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TradingApplicationService {
     private final CheckoutService checkoutService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PurchaseResponse checkout(CheckoutRequest request) {
         Purchase purchase = checkoutService.checkout(request.getListingId(), request.getBuyerId());
+        publish(purchase, Change.CHECKOUT);
         return toResponse(purchase);
     }
 
@@ -31,22 +36,23 @@ public class TradingApplicationService {
             request.getMeetingPlace(),
             request.getConditionNotes()
         );
+        publish(purchase, Change.HANDOVER_UPDATED);
         return toResponse(purchase);
     }
 
     @Transactional
     public PurchaseResponse confirmBuyer(UUID purchaseId) {
-        return toResponse(checkoutService.confirmBuyer(purchaseId));
+        return toResponse(publish(checkoutService.confirmBuyer(purchaseId), Change.BUYER_CONFIRMED));
     }
 
     @Transactional
     public PurchaseResponse confirmSeller(UUID purchaseId) {
-        return toResponse(checkoutService.confirmSeller(purchaseId));
+        return toResponse(publish(checkoutService.confirmSeller(purchaseId), Change.SELLER_CONFIRMED));
     }
 
     @Transactional
     public PurchaseResponse cancel(UUID purchaseId) {
-        return toResponse(checkoutService.cancel(purchaseId));
+        return toResponse(publish(checkoutService.cancel(purchaseId), Change.CANCELLED));
     }
 
     @Transactional(readOnly = true)
@@ -54,6 +60,12 @@ public class TradingApplicationService {
         return toResponse(checkoutService.getPurchase(purchaseId));
     }
 
+    private Purchase publish(Purchase purchase, Change change) {
+        eventPublisher.publishEvent(new PurchaseUpdatedEvent(
+            purchase.getId(), purchase.getListingId(), purchase.getBuyerId(), purchase.getSellerId(), change));
+        return purchase;
+    }
+
     private PurchaseResponse toResponse(Purchase purchase) {
         HandoverProtocol protocol = purchase.getHandoverProtocol();
         return PurchaseResponse.builder()